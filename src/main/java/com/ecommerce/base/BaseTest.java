@@ -1,35 +1,54 @@
 package com.ecommerce.base;
 
+import com.ecommerce.browser.BrowserProfile;
 import com.ecommerce.drivers.DriverManager;
+import com.ecommerce.drivers.SessionSnapshotCache;
 import com.ecommerce.exceptions.FrameworkException;
+import com.ecommerce.pages.LoginPage;
 import com.ecommerce.reporting.AllureReportManager;
 import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.JsonUtils;
 import com.ecommerce.utils.LogUtils;
 import org.openqa.selenium.WebDriver;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 
+import java.util.Map;
+
 /**
  * BaseTest combines setup/teardown logic for all tests.
  * Supports cross-browser via @Parameters, parallel execution, logging, Allure integration.
  */
 public abstract class BaseTest {
     protected WebDriver driver;
+    private String loggedInUser;
 
     /**
      * Initialize WebDriver before any tests in this class.
      * @param browser from TestNG XML parameter
+     * @param headless from TestNG XML parameter, used when no profile is set
+     * @param profile optional BrowserProfile name from TestNG XML parameter
+     * @param user optional users.json username to log in (via SessionSnapshotCache) before the tests
      */
-    @Parameters({"browser"})
+    @Parameters({"browser", "headless", "profile", "user"})
     @BeforeClass(alwaysRun = true)
-    public void setUpClass(@Optional("chrome") String browser) {
+    public void setUpClass(@Optional("chrome") String browser,
+                           @Optional("false") String headless,
+                           @Optional("") String profile,
+                           @Optional("") String user) {
         try {
-            LogUtils.info("[BaseTest] Starting setup for browser: " + browser);
+            String resolvedProfile = BrowserProfile.resolve(profile, headless);
+            LogUtils.info("[BaseTest] Starting setup for browser: " + browser + " profile: " + resolvedProfile);
             // optionally override browser in config
             System.setProperty("browser", browser);
-            DriverManager.initDriver();
+            DriverManager.initDriver(browser, resolvedProfile);
             driver = DriverManager.getDriver();
             AllureReportManager.addParameter("Browser", browser);
+            AllureReportManager.addParameter("Profile", resolvedProfile);
+            if (!user.isEmpty()) {
+                AllureReportManager.addParameter("User", user);
+                loginAs(user);
+            }
         } catch (Exception e) {
             LogUtils.error("BaseTest setup failed", e);
             throw new FrameworkException("Test setup failed", e);
@@ -37,15 +56,42 @@ public abstract class BaseTest {
     }
 
     /**
-     * Navigate to base URL before each test method.
+     * Recycle the session if it is worn out, then navigate to base URL before each test method.
      */
     @BeforeMethod(alwaysRun = true)
     public void setUpTest() {
+        if (DriverManager.recycleIfNeeded()) {
+            driver = DriverManager.getDriver();
+            if (loggedInUser != null) {
+                loginAs(loggedInUser);
+            }
+        }
         String baseUrl = ConfigReader.get("baseUrl");
         LogUtils.info("Navigating to base URL: " + baseUrl);
         driver.get(baseUrl);
     }
 
+    /**
+     * Log the users.json user in, reusing a cached session snapshot when one is available.
+     * Falls back to the UI login (and re-captures) when the snapshot no longer authenticates.
+     * @param username username from users.json
+     */
+    protected void loginAs(String username) {
+        loggedInUser = username;
+        SessionSnapshotCache.login(username, ConfigReader.get("baseUrl"),
+                () -> new LoginPage().isLoginFormDisplayed(),
+                () -> new LoginPage().login(username, getPassword(username)));
+    }
+
+    private String getPassword(String username) {
+        for (Map<String, Object> user : JsonUtils.getTestData("users")) {
+            if (username.equals(user.get("username"))) {
+                return String.valueOf(user.get("password"));
+            }
+        }
+        throw new FrameworkException("User not found in test data: " + username);
+    }
+
     /**
      * Tear down WebDriver after all tests in this class.
      */
@@ -60,15 +106,12 @@ public abstract class BaseTest {
     }
 
     /**
-     * On test failure, capture screenshot and attach logs.
+     * On test failure, log it (the screenshot and the test's log slice are attached by AllureListener).
      */
     @AfterMethod(alwaysRun = true)
     public void tearDownMethod(ITestResult result) {
         if (result.getStatus() == ITestResult.FAILURE) {
             LogUtils.error("Test failed: " + result.getName());
-            DriverManager.captureScreenshot();
-            AllureReportManager.attachScreenshot(result.getName());
-            LogUtils.attachLogFile();
         }
     }
 }
@@ -0,0 +1,61 @@
+package com.ecommerce.browser;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.utils.ConfigReader;
+
+/**
+ * Named browser option profiles shared by ChromeDriverManager and FirefoxDriverManager.
+ * <p>
+ * Profiles:
+ * - default: headed, maximized window (previous behaviour)
+ * - headless: headless with a fixed window size
+ * - fast-headless: headless, eager page load, no extensions/GPU/background networking/images
+ */
+public final class BrowserProfile {
+
+    public static final String DEFAULT = "default";
+    public static final String HEADLESS = "headless";
+    public static final String FAST_HEADLESS = "fast-headless";
+
+    private static final String DEFAULT_WINDOW_SIZE = "1920,1080";
+
+    private BrowserProfile() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Resolve the profile to use: TestNG "profile" parameter, then browser.profile from config,
+     * then the TestNG "headless" parameter.
+     *
+     * @param profile  TestNG profile parameter (may be null or empty)
+     * @param headless TestNG headless parameter (may be null)
+     * @return profile name
+     */
+    public static String resolve(String profile, String headless) {
+        if (profile != null && !profile.trim().isEmpty()) {
+            return profile.trim().toLowerCase();
+        }
+        if (ConfigReader.containsKey(AppConstants.KEY_BROWSER_PROFILE)) {
+            return ConfigReader.get(AppConstants.KEY_BROWSER_PROFILE).toLowerCase();
+        }
+        return Boolean.parseBoolean(headless) ? HEADLESS : DEFAULT;
+    }
+
+    /**
+     * @return true if the profile sets a fixed window size instead of maximizing
+     */
+    public static boolean usesFixedWindow(String profile) {
+        return HEADLESS.equals(profile) || FAST_HEADLESS.equals(profile);
+    }
+
+    /**
+     * @return window width and height from browser.window.size, e.g. {1920, 1080}
+     */
+    static int[] getWindowSize() {
+        String size = ConfigReader.containsKey(AppConstants.KEY_BROWSER_WINDOW_SIZE)
+                ? ConfigReader.get(AppConstants.KEY_BROWSER_WINDOW_SIZE)
+                : DEFAULT_WINDOW_SIZE;
+        String[] parts = size.split("[,x]");
+        return new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+    }
+}
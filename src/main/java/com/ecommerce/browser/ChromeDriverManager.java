@@ -1,13 +1,58 @@
 package com.ecommerce.browser;
 
-public class ChromeDriverManager {
-
-	
-	
-	/* 
-	   * If there is a complex configuration or need to maintain 
-	   the browser-specific configuration and follow SRP, then
-	   we can use this ChromeDriverManager
-	*/
-	 
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds ChromeOptions for the named BrowserProfile.
+ * Options are built once per profile and cached; callers must not mutate the returned instance.
+ */
+public final class ChromeDriverManager {
+
+    private static final Map<String, ChromeOptions> OPTIONS_CACHE = new ConcurrentHashMap<>();
+
+    private ChromeDriverManager() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @param profile BrowserProfile name
+     * @return cached ChromeOptions for the profile
+     */
+    public static ChromeOptions getOptions(String profile) {
+        return OPTIONS_CACHE.computeIfAbsent(profile, ChromeDriverManager::buildOptions);
+    }
+
+    private static ChromeOptions buildOptions(String profile) {
+        ChromeOptions options = new ChromeOptions();
+        int[] size = BrowserProfile.getWindowSize();
+        switch (profile) {
+            case BrowserProfile.FAST_HEADLESS:
+                options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+                options.addArguments(
+                        "--disable-extensions",
+                        "--disable-gpu",
+                        "--disable-background-networking",
+                        "--blink-settings=imagesEnabled=false");
+                Map<String, Object> prefs = new HashMap<>();
+                prefs.put("profile.managed_default_content_settings.images", 2);
+                options.setExperimentalOption("prefs", prefs);
+                // fall through: fast-headless is headless plus the above
+            case BrowserProfile.HEADLESS:
+                options.addArguments("--headless=new", "--window-size=" + size[0] + "," + size[1]);
+                break;
+            case BrowserProfile.DEFAULT:
+                break;
+            default:
+                LogUtils.warn("Unknown Chrome profile '" + profile + "', using default options");
+                break;
+        }
+        LogUtils.info("Built ChromeOptions for profile: " + profile);
+        return options;
+    }
 }
@@ -1,9 +1,61 @@
 package com.ecommerce.browser;
 
-public class FirefoxDriverManager {
-	/* 
-	   * If there is a complex configuration or need to maintain 
-	   the browser-specific configuration and follow SRP, then
-	   we can use this FirefoxDriverManager
-	*/
+import com.ecommerce.drivers.ConsoleCollector;
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds FirefoxOptions for the named BrowserProfile.
+ * Options are built once per profile and cached; callers must not mutate the returned instance.
+ */
+public final class FirefoxDriverManager {
+
+    private static final Map<String, FirefoxOptions> OPTIONS_CACHE = new ConcurrentHashMap<>();
+
+    private FirefoxDriverManager() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @param profile BrowserProfile name
+     * @return cached FirefoxOptions for the profile
+     */
+    public static FirefoxOptions getOptions(String profile) {
+        return OPTIONS_CACHE.computeIfAbsent(profile, FirefoxDriverManager::buildOptions);
+    }
+
+    private static FirefoxOptions buildOptions(String profile) {
+        FirefoxOptions options = new FirefoxOptions();
+        int[] size = BrowserProfile.getWindowSize();
+        switch (profile) {
+            case BrowserProfile.FAST_HEADLESS:
+                options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+                options.addPreference("permissions.default.image", 2);
+                options.addPreference("extensions.enabledScopes", 0);
+                options.addPreference("extensions.update.enabled", false);
+                options.addPreference("layers.acceleration.disabled", true);
+                options.addPreference("network.prefetch-next", false);
+                options.addPreference("network.dns.disablePrefetch", true);
+                options.addPreference("app.update.auto", false);
+                options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+                // fall through: fast-headless is headless plus the above
+            case BrowserProfile.HEADLESS:
+                options.addArguments("-headless", "--width=" + size[0], "--height=" + size[1]);
+                break;
+            case BrowserProfile.DEFAULT:
+                break;
+            default:
+                LogUtils.warn("Unknown Firefox profile '" + profile + "', using default options");
+                break;
+        }
+        if (ConsoleCollector.isEnabled()) {
+            options.setCapability("webSocketUrl", true); // WebDriver BiDi log events
+        }
+        LogUtils.info("Built FirefoxOptions for profile: " + profile);
+        return options;
+    }
 }
@@ -21,12 +21,88 @@ public final class AppConstants {
     public static final String KEY_IMPLICIT_WAIT = "implicit.wait";
     public static final String KEY_EXPLICIT_WAIT = "explicit.wait";
     public static final String KEY_POLLING_INTERVAL = "polling.interval";
+    public static final String KEY_WAIT_MODE = "wait.mode";
+    public static final String KEY_WAIT_ADAPTIVE_ENABLED = "wait.adaptive.enabled";
+    public static final String KEY_WAIT_ADAPTIVE_MIN_MS = "wait.adaptive.min.ms";
+    public static final String KEY_WAIT_LATENCY_FILE = "wait.latency.file";
     public static final String KEY_SCREENSHOT_PATH = "screenshot.path";
+    public static final String KEY_SCREENSHOT_ASYNC_THREADS = "screenshot.async.threads";
+    public static final String KEY_SCREENSHOT_ASYNC_QUEUE = "screenshot.async.queue";
+    public static final String KEY_SCREENSHOT_VARIANT_WIDTH = "screenshot.store.variant.width";
+    public static final String KEY_SCREENSHOT_VARIANT_FORMAT = "screenshot.store.variant.format";
     public static final String KEY_LOG_FILE_PATH = "log.file.path";
     public static final String KEY_LOG_LEVEL = "log.level";
     public static final String KEY_LOG_TIMESTAMP_PATTERN = "log.timestamp.pattern";
+    public static final String KEY_LOG_ATTACH_MODE = "log.attach.mode";
+    public static final String KEY_LOG_BUFFER_MAX_KB = "log.buffer.max.kb";
+    public static final String KEY_LOG_ATTACH_MAX_KB = "log.attach.max.kb";
+    public static final String KEY_LOG_ATTACH_GZIP_KB = "log.attach.gzip.kb";
     public static final String KEY_ALLURE_RESULTS_DIR = "allure.results.dir";
     public static final String KEY_RETRY_COUNT = "retry.count";
+    public static final String KEY_BROWSER_PROFILE = "browser.profile";
+    public static final String KEY_BROWSER_WINDOW_SIZE = "browser.window.size";
+
+    // WebDriver session pool
+    public static final String KEY_DRIVER_POOL_ENABLED = "driver.pool.enabled";
+    public static final String KEY_DRIVER_POOL_SIZE = "driver.pool.size";
+    public static final String KEY_DRIVER_POOL_LEASE_TIMEOUT = "driver.pool.lease.timeout";
+
+    // WebDriver pre-spawning at suite start
+    public static final String KEY_DRIVER_PRESPAWN_ENABLED = "driver.prespawn.enabled";
+    public static final String KEY_DRIVER_PRESPAWN_CONCURRENCY = "driver.prespawn.concurrency";
+    public static final String KEY_DRIVER_PRESPAWN_STAGGER_MS = "driver.prespawn.stagger.ms";
+    public static final String KEY_DRIVER_PRESPAWN_START_TIMEOUT = "driver.prespawn.start.timeout.seconds";
+
+    // Third-party request blocking (comma-separated URL patterns)
+    public static final String KEY_NETWORK_BLOCKLIST = "network.blocklist";
+
+    // Network-idle waits (in-flight request tracking)
+    public static final String KEY_NETWORK_IDLE_TRACKING = "network.idle.tracking.enabled";
+    public static final String KEY_NETWORK_IDLE_QUIET_MS = "network.idle.quiet.ms";
+    public static final String KEY_NETWORK_IDLE_REQUEST_TIMEOUT = "network.idle.request.timeout.ms";
+
+    // Network capture as HAR (NetworkCapture)
+    public static final String KEY_NETWORK_CAPTURE_ENABLED = "network.capture.enabled";
+    public static final String KEY_NETWORK_CAPTURE_MAX_ENTRIES = "network.capture.max.entries";
+    public static final String KEY_NETWORK_CAPTURE_BODY_MAX_KB = "network.capture.body.max.kb";
+    public static final String KEY_NETWORK_CAPTURE_REPORT_TOP = "network.capture.report.top";
+
+    // Streaming console / JavaScript error collection (ConsoleCollector)
+    public static final String KEY_CONSOLE_CAPTURE_ENABLED = "console.capture.enabled";
+    public static final String KEY_CONSOLE_CAPTURE_LEVEL = "console.capture.level";
+    public static final String KEY_CONSOLE_CAPTURE_MAX_ENTRIES = "console.capture.max.entries";
+    public static final String KEY_CONSOLE_FAIL_FAST = "console.fail.fast";
+
+    // Screencast flight recorder (FlightRecorder)
+    public static final String KEY_FLIGHT_RECORDER_ENABLED = "flight.recorder.enabled";
+    public static final String KEY_FLIGHT_RECORDER_SECONDS = "flight.recorder.seconds";
+    public static final String KEY_FLIGHT_RECORDER_MAX_KB = "flight.recorder.max.kb";
+    public static final String KEY_FLIGHT_RECORDER_MAX_WIDTH = "flight.recorder.max.width";
+    public static final String KEY_FLIGHT_RECORDER_QUALITY = "flight.recorder.quality";
+
+    // Authenticated session snapshot cache
+    public static final String KEY_SESSION_SNAPSHOT_ENABLED = "session.snapshot.enabled";
+    public static final String KEY_SESSION_SNAPSHOT_TTL = "session.snapshot.ttl.minutes";
+
+    // WebDriver session recycling
+    public static final String KEY_DRIVER_RECYCLE_MAX_COMMANDS = "driver.recycle.max.commands";
+    public static final String KEY_DRIVER_RECYCLE_MAX_UPTIME = "driver.recycle.max.uptime.minutes";
+    public static final String KEY_DRIVER_RECYCLE_MAX_MEMORY = "driver.recycle.max.memory.mb";
+    public static final String KEY_DRIVER_RECYCLE_REPORT = "driver.recycle.report";
+
+    // Page-object initialization (cached | pagefactory)
+    public static final String KEY_PAGE_FACTORY = "page.factory";
+
+    // Command and wait timing instrumentation
+    public static final String KEY_TIMING_ENABLED = "timing.enabled";
+    public static final String KEY_TIMING_REPORT_TOP = "timing.report.top";
+
+    // Selenium Grid routing
+    public static final String KEY_GRID_URL = "seleniumGrid.url";
+    public static final String KEY_GRID_URLS = "seleniumGrid.urls";
+    public static final String KEY_GRID_STATUS_CACHE_MS = "seleniumGrid.status.cache.ms";
+    public static final String KEY_GRID_BREAKER_FAILURES = "seleniumGrid.breaker.failures";
+    public static final String KEY_GRID_BREAKER_COOLDOWN = "seleniumGrid.breaker.cooldown.seconds";
 
     // File and directory paths
     public static final String CONFIG_DIR = "src/main/resources/config/";
@@ -21,6 +21,7 @@ public final class TimeConstants {
     public static final long DEFAULT_EXPLICIT_WAIT_SECONDS = 20;
     public static final long DEFAULT_FLUENT_TIMEOUT_SECONDS = 30;
     public static final long DEFAULT_POLLING_INTERVAL_MS = 500;
+    public static final long DEFAULT_NETWORK_QUIET_MS = 500;
 
     // Typed Duration constants for direct usage
     public static final Duration IMPLICIT_WAIT = Duration.ofSeconds(DEFAULT_IMPLICIT_WAIT_SECONDS);
@@ -28,9 +29,9 @@ public final class TimeConstants {
     public static final Duration FLUENT_WAIT_TIMEOUT = Duration.ofSeconds(DEFAULT_FLUENT_TIMEOUT_SECONDS);
     public static final Duration FLUENT_WAIT_POLLING = Duration.ofMillis(DEFAULT_POLLING_INTERVAL_MS);
 
+    public static final Duration NETWORK_QUIET_WINDOW = Duration.ofMillis(DEFAULT_NETWORK_QUIET_MS);
+
     // Common hard-wait durations (use sparingly)
-    public static final Duration SHORT_SLEEP = Duration.ofMillis(500);
-    public static final Duration MEDIUM_SLEEP = Duration.ofSeconds(2);
     public static final Duration LONG_SLEEP = Duration.ofSeconds(5);
 
     // Date/time formatting patterns
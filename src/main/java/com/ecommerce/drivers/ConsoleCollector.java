@@ -0,0 +1,219 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.exceptions.FrameworkException;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.LogInspector;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects browser console messages and uncaught JavaScript errors as they happen, instead of
+ * pulling LogType.BROWSER entries after the fact (which Firefox does not support and which
+ * loses entries already rotated out of the browser's buffer).
+ * <p>
+ * Best practices:
+ * - Chrome: CDP Runtime.consoleAPICalled / Runtime.exceptionThrown; Firefox: WebDriver BiDi
+ *   log events (FirefoxDriverManager enables webSocketUrl while console.capture is on)
+ * - Only entries at or above console.capture.level are kept, at most console.capture.max.entries
+ *   per test (oldest dropped first); the buffer is cleared at test start
+ * - console.fail.fast=true makes WaitUtils fail a wait on the first uncaught JavaScript error
+ *   instead of running into the explicit wait timeout
+ */
+public final class ConsoleCollector {
+    private static final int DEFAULT_MAX_ENTRIES = 200;
+    private static final String DEFAULT_LEVEL = "warning";
+    private static final List<String> LEVELS = List.of("debug", "info", "warning", "error");
+
+    private final ArrayDeque<String> entries = new ArrayDeque<>();
+    private final int maxEntries;
+    private final int minLevel;
+    private final boolean failFast;
+    private long dropped;
+    private volatile String uncaughtError;
+    private LogInspector logInspector;
+
+    private ConsoleCollector(int maxEntries, int minLevel, boolean failFast) {
+        this.maxEntries = maxEntries;
+        this.minLevel = minLevel;
+        this.failFast = failFast;
+    }
+
+    /**
+     * @return true unless console.capture.enabled=false
+     */
+    public static boolean isEnabled() {
+        return !ConfigReader.containsKey(AppConstants.KEY_CONSOLE_CAPTURE_ENABLED)
+                || Boolean.parseBoolean(ConfigReader.get(AppConstants.KEY_CONSOLE_CAPTURE_ENABLED));
+    }
+
+    /**
+     * Subscribe to the session's console and JavaScript error events.
+     * @return the collector, or null if disabled or the driver supports neither CDP nor BiDi
+     * @throws FrameworkException if console.capture.level is not a known level
+     */
+    static ConsoleCollector install(DriverSession session, WebDriver rawDriver) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String level = normalize(ConfigReader.containsKey(AppConstants.KEY_CONSOLE_CAPTURE_LEVEL)
+                ? ConfigReader.get(AppConstants.KEY_CONSOLE_CAPTURE_LEVEL)
+                : DEFAULT_LEVEL);
+        if (!LEVELS.contains(level)) {
+            throw new FrameworkException("Invalid " + AppConstants.KEY_CONSOLE_CAPTURE_LEVEL + ": " + level
+                    + " (expected one of " + LEVELS + ")");
+        }
+        ConsoleCollector collector = new ConsoleCollector(
+                ConfigReader.containsKey(AppConstants.KEY_CONSOLE_CAPTURE_MAX_ENTRIES)
+                        ? (int) ConfigReader.getLong(AppConstants.KEY_CONSOLE_CAPTURE_MAX_ENTRIES)
+                        : DEFAULT_MAX_ENTRIES,
+                LEVELS.indexOf(level),
+                ConfigReader.containsKey(AppConstants.KEY_CONSOLE_FAIL_FAST)
+                        && Boolean.parseBoolean(ConfigReader.get(AppConstants.KEY_CONSOLE_FAIL_FAST)));
+        try {
+            if (rawDriver instanceof HasBiDi && ((HasBiDi) rawDriver).maybeGetBiDi().isPresent()) {
+                collector.logInspector = new LogInspector(rawDriver);
+                collector.logInspector.onConsoleEntry(entry ->
+                        collector.add(String.valueOf(entry.getLevel()), entry.getText(), entry.getTimestamp()));
+                collector.logInspector.onJavaScriptException(entry ->
+                        collector.addUncaught(entry.getText(), entry.getTimestamp()));
+                return collector;
+            }
+            DevTools devTools = session.getDevTools();
+            if (devTools == null) {
+                LogUtils.debug("Console capture unavailable for " + session.getBrowser() + " (no DevTools or BiDi)");
+                return null;
+            }
+            DevToolsSupport.send(devTools, "Runtime.enable", Collections.emptyMap());
+            DevToolsSupport.on(devTools, "Runtime.consoleAPICalled", collector::onConsoleApiCalled);
+            DevToolsSupport.on(devTools, "Runtime.exceptionThrown", collector::onExceptionThrown);
+            return collector;
+        } catch (Exception e) {
+            LogUtils.warn("Failed to install console capture", e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onConsoleApiCalled(Map<String, Object> params) {
+        String type = String.valueOf(params.get("type"));
+        String level = "assert".equals(type) ? "error" : normalize(type);
+        if (!LEVELS.contains(level)) {
+            level = "info"; // log, dir, table, trace, ...
+        }
+        if (LEVELS.indexOf(level) < minLevel) {
+            return; // skip building the message text
+        }
+        StringBuilder text = new StringBuilder();
+        for (Map<String, Object> arg : (List<Map<String, Object>>) params.getOrDefault("args", Collections.emptyList())) {
+            Object value = arg.containsKey("value") ? arg.get("value") : arg.get("description");
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(value);
+        }
+        add(level, text.toString(), ((Number) params.getOrDefault("timestamp", 0)).longValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onExceptionThrown(Map<String, Object> params) {
+        Map<String, Object> details = (Map<String, Object>) params.get("exceptionDetails");
+        Map<String, Object> exception = (Map<String, Object>) details.get("exception");
+        String text = exception != null && exception.get("description") != null
+                ? String.valueOf(exception.get("description")) : String.valueOf(details.get("text"));
+        if (details.get("url") != null) {
+            text += " (" + details.get("url") + ":" + details.get("lineNumber") + ")";
+        }
+        addUncaught(text, ((Number) params.getOrDefault("timestamp", 0)).longValue());
+    }
+
+    private void addUncaught(String text, long timestampMillis) {
+        if (uncaughtError == null) {
+            uncaughtError = text;
+        }
+        add("error", "Uncaught " + text, timestampMillis);
+    }
+
+    /**
+     * Map level names from CDP, BiDi ("warn") and configuration onto LEVELS.
+     */
+    private static String normalize(String level) {
+        String lower = String.valueOf(level).trim().toLowerCase();
+        return "warn".equals(lower) ? "warning" : lower;
+    }
+
+    private void add(String level, String text, long timestampMillis) {
+        String normalized = normalize(level);
+        int index = LEVELS.indexOf(normalized);
+        if (index < 0) {
+            normalized = "info";
+            index = LEVELS.indexOf(normalized);
+        }
+        if (index < minLevel) {
+            return;
+        }
+        String entry = Instant.ofEpochMilli(timestampMillis) + " " + normalized.toUpperCase() + " " + text;
+        synchronized (entries) {
+            entries.addLast(entry);
+            while (entries.size() > maxEntries) {
+                entries.removeFirst();
+                dropped++;
+            }
+        }
+    }
+
+    /**
+     * Start a new test: forget collected entries and any pending uncaught error.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            dropped = 0;
+        }
+        uncaughtError = null;
+    }
+
+    /**
+     * @return the collected entries, one per line, or an empty string if there are none
+     */
+    public String drain() {
+        synchronized (entries) {
+            if (entries.isEmpty()) {
+                return "";
+            }
+            String nl = System.lineSeparator();
+            StringBuilder sb = new StringBuilder();
+            if (dropped > 0) {
+                sb.append("----- ").append(dropped).append(" earlier entr(ies) dropped, console.capture.max.entries=")
+                        .append(maxEntries).append(" -----").append(nl);
+            }
+            for (String entry : entries) {
+                sb.append(entry).append(nl);
+            }
+            entries.clear();
+            dropped = 0;
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Fail the current wait if the page threw an uncaught JavaScript error (console.fail.fast).
+     *
+     * @throws FrameworkException with the first uncaught error since the test started
+     */
+    public void failOnUncaughtError() {
+        String error = uncaughtError;
+        if (failFast && error != null) {
+            uncaughtError = null;
+            throw new FrameworkException("Uncaught JavaScript error on page: " + error);
+        }
+    }
+}
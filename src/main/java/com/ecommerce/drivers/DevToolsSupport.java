@@ -0,0 +1,68 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Version-independent access to Chrome DevTools Protocol domains.
+ * <p>
+ * Raw CDP commands/events are used instead of the generated v1xx classes so the
+ * framework does not break when the selenium-devtools version changes.
+ * Remote sessions are augmented so Grid nodes exposing se:cdp are supported.
+ */
+final class DevToolsSupport {
+
+    private DevToolsSupport() {
+        // prevent instantiation
+    }
+
+    /**
+     * Open a DevTools session for the driver.
+     * @return connected DevTools, or null if the driver does not support CDP
+     */
+    static DevTools open(WebDriver driver) {
+        try {
+            WebDriver cdpDriver = driver instanceof HasDevTools ? driver : new Augmenter().augment(driver);
+            if (!(cdpDriver instanceof HasDevTools)) {
+                return null;
+            }
+            DevTools devTools = ((HasDevTools) cdpDriver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            return devTools;
+        } catch (Exception e) {
+            LogUtils.warn("DevTools not available for this driver: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Send a CDP command and ignore its result.
+     */
+    static void send(DevTools devTools, String method, Map<String, Object> params) {
+        devTools.send(new Command<Void>(method, params));
+    }
+
+    /**
+     * Send a CDP command and return its result.
+     * @return result object as a map
+     */
+    static Map<String, Object> call(DevTools devTools, String method, Map<String, Object> params) {
+        return devTools.send(new Command<Map<String, Object>>(method, params, input -> input.read(Json.MAP_TYPE)));
+    }
+
+    /**
+     * Listen to a CDP event, receiving its params as a map.
+     */
+    static void on(DevTools devTools, String event, Consumer<Map<String, Object>> handler) {
+        devTools.addListener(new Event<Map<String, Object>>(event, input -> input.read(Json.MAP_TYPE)), handler);
+    }
+}
@@ -1,19 +1,19 @@
 package com.ecommerce.drivers;
 
+import com.ecommerce.browser.BrowserProfile;
+import com.ecommerce.browser.ChromeDriverManager;
+import com.ecommerce.browser.FirefoxDriverManager;
 import com.ecommerce.utils.ConfigReader;
 import com.ecommerce.utils.LogUtils;
 import com.ecommerce.exceptions.FrameworkException;
-import io.qameta.allure.Attachment;
+import com.ecommerce.reporting.ScreenshotService;
 import io.qameta.allure.Step;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.remote.RemoteWebDriver;
 
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.time.Duration;
 
 /**
@@ -21,13 +21,20 @@ import java.time.Duration;
  * <p>
  * Best practices:
  * - ThreadLocal storage for parallel tests
- * - Browser type from config
- * - Optional remote execution via seleniumGrid.url
+ * - Browser type from config, options from named BrowserProfile
+ * - Optional remote execution via seleniumGrid.url, or GridRouter across seleniumGrid.urls
+ * - Optional session reuse via DriverPool (driver.pool.enabled)
+ * - Optional background start-up via DriverPrespawner (driver.prespawn.enabled)
+ * - Optional third-party request blocking via RequestBlocker (network.blocklist)
+ * - Optional recycling of worn-out sessions via DriverRecycler (driver.recycle.*)
+ * - Optional screencast flight recorder per session via FlightRecorder (flight.recorder.*)
+ * - Network capture (HAR) per session via NetworkCapture (network.capture.*)
+ * - Streaming console / JavaScript error collection via ConsoleCollector (console.*)
  * - Logging and Allure attachments on failures
  * - Clean teardown
  */
 public final class DriverManager {
-    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<DriverSession> SESSION = new ThreadLocal<>();
 
     private DriverManager() {
         // prevent instantiation
@@ -38,85 +45,171 @@ public final class DriverManager {
      */
     @Step("Initializing WebDriver for thread")
     public static void initDriver() {
-        String browser = ConfigReader.get("browser").toLowerCase();
-        String gridUrl = ConfigReader.getProperty("seleniumGrid.url");
+        initDriver(ConfigReader.get("browser"));
+    }
+
+    /**
+     * Initialize WebDriver instance for current thread for the given browser,
+     * using the profile from browser.profile (or the default profile).
+     * @param browser browser name (chrome, firefox)
+     */
+    public static void initDriver(String browser) {
+        initDriver(browser, BrowserProfile.resolve(null, null));
+    }
+
+    /**
+     * Initialize WebDriver instance for current thread for the given browser and profile.
+     * Leases from the DriverPool when pooling is enabled.
+     * @param browser browser name (chrome, firefox)
+     * @param profile BrowserProfile name (default, headless, fast-headless)
+     */
+    @Step("Initializing {browser} WebDriver ({profile}) for thread")
+    public static void initDriver(String browser, String profile) {
+        String name = browser.toLowerCase();
+        DriverSession session = DriverPool.isEnabled()
+                ? DriverPool.lease(name, profile)
+                : obtainSession(name, profile);
+        SESSION.set(session);
+    }
+
+    /**
+     * Take a pre-spawned session if one is available, otherwise create one.
+     * @param browser lower-case browser name
+     * @param profile BrowserProfile name
+     * @return ready DriverSession
+     */
+    static DriverSession obtainSession(String browser, String profile) {
+        DriverSession session = DriverPrespawner.claim(browser, profile);
+        return session != null ? session : createSession(browser, profile);
+    }
+
+    /**
+     * Create and configure a new WebDriver, locally or via Selenium Grid.
+     * @param browser lower-case browser name
+     * @param profile BrowserProfile name
+     * @return new DriverSession wrapping the WebDriver
+     */
+    static DriverSession createSession(String browser, String profile) {
+        boolean remote = GridRouter.isConfigured();
         try {
             WebDriver driver;
             switch (browser) {
                 case "firefox":
-                    FirefoxOptions fo = new FirefoxOptions();
-                    if (gridUrl != null && !gridUrl.isEmpty()) {
-                        driver = new RemoteWebDriver(new URL(gridUrl), fo);
-                    } else {
-                        driver = new FirefoxDriver(fo);
-                    }
+                    FirefoxOptions fo = FirefoxDriverManager.getOptions(profile);
+                    driver = remote ? GridRouter.createDriver(browser, fo) : new FirefoxDriver(fo);
                     break;
                 case "chrome":
                 default:
-                    ChromeOptions co = new ChromeOptions();
-                    if (gridUrl != null && !gridUrl.isEmpty()) {
-                        driver = new RemoteWebDriver(new URL(gridUrl), co);
-                    } else {
-                        driver = new ChromeDriver(co);
-                    }
+                    ChromeOptions co = ChromeDriverManager.getOptions(profile);
+                    driver = remote ? GridRouter.createDriver(browser, co) : new ChromeDriver(co);
                     break;
             }
             // common setup
             driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(
                     ConfigReader.getLong("implicit.wait")));
-            driver.manage().window().maximize();
-            DRIVER.set(driver);
-            LogUtils.info("WebDriver initialized: " + browser + (gridUrl != null ? " via Grid" : " locally"));
-        } catch (MalformedURLException e) {
-            LogUtils.error("Invalid Selenium Grid URL", e);
-            throw new FrameworkException("Failed to initialize RemoteWebDriver", e);
+            if (!BrowserProfile.usesFixedWindow(profile)) {
+                driver.manage().window().maximize();
+            }
+            DriverSession session = new DriverSession(driver, browser, profile);
+            session.setRequestBlocker(RequestBlocker.install(session));
+            session.setNetworkTracker(NetworkTracker.install(session));
+            session.setFlightRecorder(FlightRecorder.install(session));
+            session.setNetworkCapture(NetworkCapture.install(session));
+            session.setConsoleCollector(ConsoleCollector.install(session, driver));
+            LogUtils.info("WebDriver initialized: " + browser + " [" + profile + "]"
+                    + (remote ? " via Grid" : " locally"));
+            return session;
+        } catch (FrameworkException e) {
+            throw e;
         } catch (Exception e) {
             LogUtils.error("Error initializing WebDriver", e);
             throw new FrameworkException("WebDriver initialization failed", e);
         }
     }
 
+    /**
+     * Replace the current thread's session with a fresh one if it exceeds the
+     * DriverRecycler thresholds. Call between tests only.
+     * @return true if the session was recycled (callers must re-read getDriver())
+     */
+    public static boolean recycleIfNeeded() {
+        DriverSession session = SESSION.get();
+        if (session == null || !DriverRecycler.isEnabled()) {
+            return false;
+        }
+        String reason = DriverRecycler.check(session);
+        if (reason == null) {
+            return false;
+        }
+        DriverRecycler.record(session, reason);
+        SESSION.remove();
+        if (session.isPooled()) {
+            DriverPool.discard(session);
+        } else {
+            try {
+                session.quit();
+            } catch (Exception e) {
+                LogUtils.warn("Error quitting recycled WebDriver", e);
+            }
+        }
+        initDriver(session.getBrowser(), session.getProfile());
+        return true;
+    }
+
     /**
      * Get the WebDriver for the current thread.
      * @return WebDriver instance
      */
     public static WebDriver getDriver() {
-        WebDriver driver = DRIVER.get();
-        if (driver == null) {
+        return getSession().getDriver();
+    }
+
+    /**
+     * @return true if a WebDriver has been initialized for the current thread
+     */
+    public static boolean isInitialized() {
+        return SESSION.get() != null;
+    }
+
+    /**
+     * Get the DriverSession for the current thread.
+     * @return DriverSession wrapping the current WebDriver
+     */
+    public static DriverSession getSession() {
+        DriverSession session = SESSION.get();
+        if (session == null) {
             throw new IllegalStateException("WebDriver has not been initialized. Call initDriver() first.");
         }
-        return driver;
+        return session;
     }
 
     /**
      * Quit and remove the WebDriver for the current thread.
+     * Pooled sessions are reset and returned to the DriverPool instead of quit.
      */
     @Step("Quitting WebDriver for thread")
     public static void quitDriver() {
-        WebDriver driver = DRIVER.get();
-        if (driver != null) {
+        DriverSession session = SESSION.get();
+        if (session != null) {
             try {
-                driver.quit();
-                LogUtils.info("WebDriver quit successfully");
+                if (session.isPooled()) {
+                    DriverPool.release(session);
+                } else {
+                    session.quit();
+                    LogUtils.info("WebDriver quit successfully");
+                }
             } catch (Exception e) {
                 LogUtils.error("Error quitting WebDriver", e);
             } finally {
-                DRIVER.remove();
+                SESSION.remove();
             }
         }
     }
 
     /**
-     * Attach screenshot to Allure on test failure.
+     * Attach screenshot to Allure on test failure (see ScreenshotService).
      */
-    @Attachment(value = "Last Screenshot", type = "image/png")
-    public static byte[] captureScreenshot() {
-        try {
-            return ((org.openqa.selenium.TakesScreenshot) getDriver()).getScreenshotAs(
-                    org.openqa.selenium.OutputType.BYTES);
-        } catch (Exception e) {
-            LogUtils.error("Failed to capture screenshot", e);
-            return new byte[0];
-        }
+    public static String captureScreenshot() {
+        return ScreenshotService.capture("Last Screenshot");
     }
 }
@@ -0,0 +1,313 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.exceptions.FrameworkException;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of ready WebDriver sessions, one pool per browser type and profile.
+ * <p>
+ * Best practices:
+ * - Enabled via driver.pool.enabled, sized via driver.pool.size (match TestNG thread-count)
+ * - Sessions are reset on return (cookies, storage, snapshot scripts, extra windows, about:blank,
+ *   in-flight request tracking). CDP drivers clear cookies of every domain and the storage of
+ *   every origin loaded during the lease (SSO hosts, payment iframes); other drivers can only
+ *   clear cookies and storage of the origin loaded at return, so state from other origins
+ *   carries over to the next lease there
+ * - Sessions failing a health check are evicted and quit
+ * - Lease wait time and hit rate are tracked for sizing
+ */
+public final class DriverPool {
+    private static final int DEFAULT_SIZE = 4;
+    private static final long DEFAULT_LEASE_TIMEOUT_SECONDS = 120;
+
+    private static final Map<String, BrowserPool> POOLS = new ConcurrentHashMap<>();
+
+    private static final AtomicLong LEASES = new AtomicLong();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+    private static final AtomicLong WAIT_NANOS = new AtomicLong();
+    private static final AtomicLong MAX_WAIT_NANOS = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+        // prevent instantiation
+    }
+
+    /**
+     * @return true when driver.pool.enabled=true in configuration
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.containsKey(AppConstants.KEY_DRIVER_POOL_ENABLED)
+                && Boolean.parseBoolean(ConfigReader.get(AppConstants.KEY_DRIVER_POOL_ENABLED));
+    }
+
+    private static int getPoolSize() {
+        return ConfigReader.containsKey(AppConstants.KEY_DRIVER_POOL_SIZE)
+                ? (int) ConfigReader.getLong(AppConstants.KEY_DRIVER_POOL_SIZE)
+                : DEFAULT_SIZE;
+    }
+
+    private static long getLeaseTimeoutSeconds() {
+        return ConfigReader.containsKey(AppConstants.KEY_DRIVER_POOL_LEASE_TIMEOUT)
+                ? ConfigReader.getLong(AppConstants.KEY_DRIVER_POOL_LEASE_TIMEOUT)
+                : DEFAULT_LEASE_TIMEOUT_SECONDS;
+    }
+
+    /**
+     * Lease a healthy session for the given browser and profile, creating one if no idle session is available.
+     * Blocks while the pool for this browser is at capacity.
+     */
+    static DriverSession lease(String browser, String profile) {
+        BrowserPool pool = POOLS.computeIfAbsent(DriverSession.key(browser, profile),
+                k -> new BrowserPool(getPoolSize()));
+        long start = System.nanoTime();
+        try {
+            if (!pool.permits.tryAcquire(getLeaseTimeoutSeconds(), TimeUnit.SECONDS)) {
+                throw new FrameworkException("Timed out waiting for a pooled '" + browser + "' session");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted while waiting for a pooled '" + browser + "' session", e);
+        }
+        long waited = System.nanoTime() - start;
+        LEASES.incrementAndGet();
+        WAIT_NANOS.addAndGet(waited);
+        MAX_WAIT_NANOS.accumulateAndGet(waited, Math::max);
+
+        try {
+            DriverSession session;
+            while ((session = pool.idle.pollFirst()) != null) {
+                if (isHealthy(session.getDriver())) {
+                    HITS.incrementAndGet();
+                    LogUtils.info("Leased pooled " + browser + " session (waited "
+                            + TimeUnit.NANOSECONDS.toMillis(waited) + " ms)");
+                    return session;
+                }
+                evict(session, "failed health check on lease");
+            }
+            session = DriverManager.obtainSession(browser, profile);
+            session.setPooled(true);
+            trackOrigins(session);
+            LogUtils.info("Pool miss: created new " + browser + " session");
+            return session;
+        } catch (RuntimeException e) {
+            pool.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Reset the session and return it to its pool, or evict it if it cannot be reset.
+     */
+    static void release(DriverSession session) {
+        BrowserPool pool = POOLS.get(session.getKey());
+        if (pool == null) {
+            quitQuietly(session);
+            return;
+        }
+        try {
+            if (reset(session) && isHealthy(session.getDriver())) {
+                pool.idle.offerFirst(session);
+                LogUtils.info("Returned " + session.getBrowser() + " session to pool");
+            } else {
+                evict(session, "failed reset on return");
+            }
+        } finally {
+            pool.permits.release();
+        }
+    }
+
+    /**
+     * Quit a leased session instead of returning it (e.g. when it is recycled).
+     */
+    static void discard(DriverSession session) {
+        BrowserPool pool = POOLS.get(session.getKey());
+        try {
+            quitQuietly(session);
+        } finally {
+            if (pool != null) {
+                pool.permits.release();
+            }
+        }
+    }
+
+    /**
+     * Quit all idle sessions. Leased sessions are quit as they are returned.
+     */
+    public static void shutdown() {
+        POOLS.forEach((key, pool) -> {
+            DriverSession session;
+            while ((session = pool.idle.pollFirst()) != null) {
+                quitQuietly(session);
+            }
+        });
+    }
+
+    /**
+     * @return one-line summary of leases, hit rate, evictions and lease wait times
+     */
+    public static String getStats() {
+        long leases = LEASES.get();
+        long hits = HITS.get();
+        double hitRate = leases == 0 ? 0 : (hits * 100.0) / leases;
+        long avgWaitMs = leases == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(WAIT_NANOS.get() / leases);
+        return String.format("leases=%d hits=%d hitRate=%.1f%% evictions=%d avgLeaseWaitMs=%d maxLeaseWaitMs=%d",
+                leases, hits, hitRate, EVICTIONS.get(), avgWaitMs,
+                TimeUnit.NANOSECONDS.toMillis(MAX_WAIT_NANOS.get()));
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Remember the origin of every document the session loads, so reset can clear their storage.
+     */
+    private static void trackOrigins(DriverSession session) {
+        DevTools devTools = session.getDevTools();
+        if (devTools == null) {
+            return;
+        }
+        try {
+            DevToolsSupport.send(devTools, "Network.enable", Collections.emptyMap());
+            DevToolsSupport.on(devTools, "Network.requestWillBeSent", params -> {
+                Object request = params.get("request");
+                if ("Document".equals(params.get("type")) && request instanceof Map) {
+                    String origin = originOf(String.valueOf(((Map<?, ?>) request).get("url")));
+                    if (origin != null) {
+                        session.getVisitedOrigins().add(origin);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            LogUtils.warn("Failed to track visited origins of pooled session: " + e.getMessage());
+        }
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null || !("http".equals(uri.getScheme()) || "https".equals(uri.getScheme()))) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() >= 0 ? ":" + uri.getPort() : "");
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean reset(DriverSession session) {
+        WebDriver driver = session.getDriver();
+        try {
+            SessionSnapshotCache.clear(session);
+            // keep the first tab: the session's DevTools connection is attached to it
+            String main = driver.getWindowHandles().iterator().next();
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(main)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(main);
+            DevTools devTools = session.getDevTools();
+            if (devTools != null) {
+                clearAllOrigins(session, devTools);
+            } else {
+                driver.manage().deleteAllCookies();
+                try {
+                    ((JavascriptExecutor) driver).executeScript(
+                            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+                } catch (Exception ignored) {
+                    // storage is not reachable on some origins (e.g. about:blank, data:)
+                }
+            }
+            driver.get("about:blank");
+            if (session.getNetworkTracker() != null) {
+                session.getNetworkTracker().reset();
+            }
+            if (session.getFlightRecorder() != null) {
+                session.getFlightRecorder().clear();
+            }
+            if (session.getNetworkCapture() != null) {
+                session.getNetworkCapture().clear();
+            }
+            if (session.getConsoleCollector() != null) {
+                session.getConsoleCollector().clear();
+            }
+            return true;
+        } catch (Exception e) {
+            LogUtils.warn("Failed to reset pooled session", e);
+            return false;
+        }
+    }
+
+    /**
+     * Clear cookies of every domain and the storage of every origin loaded during the lease
+     * (Storage.clearDataForOrigin does not cover the tab's sessionStorage; DOMStorage.clear does).
+     */
+    private static void clearAllOrigins(DriverSession session, DevTools devTools) {
+        DevToolsSupport.send(devTools, "Network.clearBrowserCookies", Collections.emptyMap());
+        DevToolsSupport.send(devTools, "DOMStorage.enable", Collections.emptyMap());
+        for (String origin : session.getVisitedOrigins()) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("origin", origin);
+            params.put("storageTypes", "all");
+            Map<String, Object> storageId = new HashMap<>();
+            storageId.put("securityOrigin", origin);
+            storageId.put("isLocalStorage", false);
+            try {
+                DevToolsSupport.send(devTools, "Storage.clearDataForOrigin", params);
+                DevToolsSupport.send(devTools, "DOMStorage.clear", Collections.singletonMap("storageId", storageId));
+            } catch (Exception e) {
+                LogUtils.warn("Failed to clear storage of " + origin + ": " + e.getMessage());
+            }
+        }
+        session.getVisitedOrigins().clear();
+    }
+
+    private static void evict(DriverSession session, String reason) {
+        EVICTIONS.incrementAndGet();
+        LogUtils.warn("Evicting " + session.getBrowser() + " session: " + reason);
+        quitQuietly(session);
+    }
+
+    private static void quitQuietly(DriverSession session) {
+        try {
+            session.quit();
+        } catch (Exception e) {
+            LogUtils.warn("Error quitting pooled WebDriver", e);
+        }
+    }
+
+    private static final class BrowserPool {
+        private final Semaphore permits;
+        private final BlockingDeque<DriverSession> idle = new LinkedBlockingDeque<>();
+
+        private BrowserPool(int size) {
+            this.permits = new Semaphore(size, true);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts browser sessions in the background at suite start so test classes
+ * pick up a ready driver instead of all launching one at the same moment.
+ * <p>
+ * Best practices:
+ * - Enabled via driver.prespawn.enabled
+ * - At most driver.prespawn.concurrency browsers launch at once
+ * - Launches are spaced by driver.prespawn.stagger.ms
+ * - A claim waits at most driver.prespawn.start.timeout.seconds, then the test starts its own session
+ * - At suite end, launches not yet started are cancelled and unclaimed sessions are quit
+ */
+public final class DriverPrespawner {
+    private static final int DEFAULT_CONCURRENCY = 2;
+    private static final long DEFAULT_STAGGER_MS = 500;
+    private static final long DEFAULT_START_TIMEOUT_SECONDS = 60;
+
+    private static final Map<String, Queue<CompletableFuture<DriverSession>>> PENDING = new ConcurrentHashMap<>();
+    private static final AtomicLong NEXT_LAUNCH_AT = new AtomicLong();
+    private static ExecutorService executor;
+    /** Closed at shutdown; a launch that has not reached createSession yet is abandoned. */
+    private static volatile boolean closed;
+
+    private DriverPrespawner() {
+        // prevent instantiation
+    }
+
+    /**
+     * @return true when driver.prespawn.enabled=true in configuration
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.containsKey(AppConstants.KEY_DRIVER_PRESPAWN_ENABLED)
+                && Boolean.parseBoolean(ConfigReader.get(AppConstants.KEY_DRIVER_PRESPAWN_ENABLED));
+    }
+
+    private static int getConcurrency() {
+        return ConfigReader.containsKey(AppConstants.KEY_DRIVER_PRESPAWN_CONCURRENCY)
+                ? (int) ConfigReader.getLong(AppConstants.KEY_DRIVER_PRESPAWN_CONCURRENCY)
+                : DEFAULT_CONCURRENCY;
+    }
+
+    private static long getStaggerMillis() {
+        return ConfigReader.containsKey(AppConstants.KEY_DRIVER_PRESPAWN_STAGGER_MS)
+                ? ConfigReader.getLong(AppConstants.KEY_DRIVER_PRESPAWN_STAGGER_MS)
+                : DEFAULT_STAGGER_MS;
+    }
+
+    private static long getStartTimeoutSeconds() {
+        return ConfigReader.containsKey(AppConstants.KEY_DRIVER_PRESPAWN_START_TIMEOUT)
+                ? ConfigReader.getLong(AppConstants.KEY_DRIVER_PRESPAWN_START_TIMEOUT)
+                : DEFAULT_START_TIMEOUT_SECONDS;
+    }
+
+    /**
+     * Asynchronously start the given number of sessions for a browser and profile.
+     * Returns immediately; sessions are claimed later via {@link #claim(String, String)}.
+     *
+     * @param browser lower-case browser name
+     * @param profile BrowserProfile name
+     * @param count   number of sessions to start
+     */
+    public static synchronized void prespawn(String browser, String profile, int count) {
+        if (executor == null) {
+            AtomicInteger threadId = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(getConcurrency(), r -> {
+                Thread t = new Thread(r, "driver-prespawn-" + threadId.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            NEXT_LAUNCH_AT.set(System.currentTimeMillis());
+            closed = false;
+        }
+        long stagger = getStaggerMillis();
+        Queue<CompletableFuture<DriverSession>> queue =
+                PENDING.computeIfAbsent(DriverSession.key(browser, profile), k -> new ConcurrentLinkedQueue<>());
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<DriverSession> future = new CompletableFuture<>();
+            queue.add(future);
+            executor.execute(() -> launch(browser, profile, stagger, future));
+        }
+        LogUtils.info("Pre-spawning " + count + " " + browser + " [" + profile + "] session(s)");
+    }
+
+    private static void launch(String browser, String profile, long stagger, CompletableFuture<DriverSession> future) {
+        if (future.isDone()) {
+            return; // discarded before it started
+        }
+        DriverSession session;
+        try {
+            session = start(browser, profile, stagger);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        if (!future.complete(session)) {
+            // discarded while the browser was starting (claim timeout or suite end)
+            try {
+                session.quit();
+            } catch (Exception e) {
+                LogUtils.warn("Error quitting discarded " + browser + " session", e);
+            }
+        }
+    }
+
+    private static DriverSession start(String browser, String profile, long stagger) {
+        long launchAt = NEXT_LAUNCH_AT.getAndAdd(stagger);
+        long delay = launchAt - System.currentTimeMillis();
+        if (delay > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Pre-spawn of " + browser + " session interrupted");
+            }
+        }
+        if (closed) {
+            throw new CancellationException("Pre-spawn of " + browser + " session cancelled at suite end");
+        }
+        return DriverManager.createSession(browser, profile);
+    }
+
+    /**
+     * Take a pre-spawned session for the browser and profile, waiting for it if it is still starting,
+     * but no longer than driver.prespawn.start.timeout.seconds.
+     *
+     * @param browser lower-case browser name
+     * @param profile BrowserProfile name
+     * @return started session, or null if none was pre-spawned, all launches failed or the wait timed out
+     */
+    static DriverSession claim(String browser, String profile) {
+        Queue<CompletableFuture<DriverSession>> queue = PENDING.get(DriverSession.key(browser, profile));
+        if (queue == null) {
+            return null;
+        }
+        long timeoutSeconds = getStartTimeoutSeconds();
+        CompletableFuture<DriverSession> future;
+        while ((future = queue.poll()) != null) {
+            try {
+                DriverSession session = future.get(timeoutSeconds, TimeUnit.SECONDS);
+                LogUtils.info("Claimed pre-spawned " + browser + " session");
+                return session;
+            } catch (TimeoutException e) {
+                LogUtils.warn("Pre-spawned " + browser + " session not ready after " + timeoutSeconds
+                        + "s, starting a new one");
+                discard(DriverSession.key(browser, profile), future);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                discard(DriverSession.key(browser, profile), future);
+                return null;
+            } catch (ExecutionException | CancellationException e) {
+                LogUtils.warn("Pre-spawned " + browser + " session failed to start", e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cancel a launch nobody will claim. A launch still starting quits its browser itself when it
+     * finds the future cancelled; a session that already started is quit here.
+     */
+    private static void discard(String key, CompletableFuture<DriverSession> future) {
+        if (future.cancel(false)) {
+            return;
+        }
+        future.thenAccept(session -> {
+            try {
+                session.quit();
+            } catch (Exception e) {
+                LogUtils.warn("Error quitting unclaimed " + key + " session", e);
+            }
+        });
+    }
+
+    /**
+     * Stop launching and quit any session that was never claimed. Launches still queued or waiting
+     * for their stagger slot are cancelled; a launch already inside createSession quits its browser
+     * when it finishes, so no browser outlives the suite.
+     */
+    public static synchronized void shutdown() {
+        closed = true;
+        if (executor != null) {
+            // drops queued launches (their futures are cancelled below) and wakes staggered ones
+            executor.shutdownNow();
+            executor = null;
+        }
+        PENDING.forEach((key, queue) -> {
+            CompletableFuture<DriverSession> future;
+            while ((future = queue.poll()) != null) {
+                discard(key, future);
+            }
+        });
+    }
+}
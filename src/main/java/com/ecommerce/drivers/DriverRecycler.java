@@ -0,0 +1,202 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when a long-lived session should be replaced with a fresh browser.
+ * <p>
+ * Best practices:
+ * - Thresholds: driver.recycle.max.commands, driver.recycle.max.uptime.minutes,
+ *   driver.recycle.max.memory.mb (0 or missing disables a threshold)
+ * - Browser memory is the PSS (proportional set size) of the browser process tree, read from
+ *   /proc/&lt;pid&gt;/smaps_rollup (local Linux drivers only). Summing RSS would count the pages
+ *   Chrome's processes share (libraries, shared memory) once per process
+ * - Off by default: no threshold is set in config.properties
+ * - Every recycle is appended to driver.recycle.report (CSV) for tuning
+ */
+public final class DriverRecycler {
+    private static final String DEFAULT_REPORT_PATH = "logs/driver-recycle.csv";
+    private static final String REPORT_HEADER = "timestamp,browser,profile,reason,commands,uptimeSeconds,pssMb";
+    private static final Path PROC = Paths.get("/proc");
+
+    private static final AtomicLong RECYCLES = new AtomicLong();
+
+    private DriverRecycler() {
+        // prevent instantiation
+    }
+
+    private static long getThreshold(String key) {
+        return ConfigReader.containsKey(key) ? ConfigReader.getLong(key) : 0;
+    }
+
+    /**
+     * @return true if any recycle threshold is configured
+     */
+    public static boolean isEnabled() {
+        return getThreshold(AppConstants.KEY_DRIVER_RECYCLE_MAX_COMMANDS) > 0
+                || getThreshold(AppConstants.KEY_DRIVER_RECYCLE_MAX_UPTIME) > 0
+                || getThreshold(AppConstants.KEY_DRIVER_RECYCLE_MAX_MEMORY) > 0;
+    }
+
+    /**
+     * Check the session against the configured thresholds.
+     * @return the reason to recycle, or null if the session can keep running
+     */
+    static String check(DriverSession session) {
+        long maxCommands = getThreshold(AppConstants.KEY_DRIVER_RECYCLE_MAX_COMMANDS);
+        if (maxCommands > 0 && session.getCommandCount() >= maxCommands) {
+            return "commands>=" + maxCommands;
+        }
+        long maxUptime = getThreshold(AppConstants.KEY_DRIVER_RECYCLE_MAX_UPTIME);
+        if (maxUptime > 0 && session.getUptimeMillis() >= TimeUnit.MINUTES.toMillis(maxUptime)) {
+            return "uptime>=" + maxUptime + "m";
+        }
+        long maxMemoryMb = getThreshold(AppConstants.KEY_DRIVER_RECYCLE_MAX_MEMORY);
+        if (maxMemoryMb > 0) {
+            long pss = getBrowserMemoryBytes(session);
+            if (pss >= maxMemoryMb * 1024 * 1024) {
+                return "pss>=" + maxMemoryMb + "MB";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Append a recycle event to the CSV report.
+     */
+    static void record(DriverSession session, String reason) {
+        RECYCLES.incrementAndGet();
+        long pssMb = getBrowserMemoryBytes(session) / (1024 * 1024);
+        String line = String.join(",", LocalDateTime.now().toString(), session.getBrowser(), session.getProfile(),
+                reason, String.valueOf(session.getCommandCount()),
+                String.valueOf(TimeUnit.MILLISECONDS.toSeconds(session.getUptimeMillis())),
+                String.valueOf(pssMb));
+        LogUtils.info("Recycling " + session.getKey() + " session: " + reason + " (pss " + pssMb + " MB)");
+        Path report = Paths.get(ConfigReader.containsKey(AppConstants.KEY_DRIVER_RECYCLE_REPORT)
+                ? ConfigReader.get(AppConstants.KEY_DRIVER_RECYCLE_REPORT)
+                : DEFAULT_REPORT_PATH);
+        synchronized (DriverRecycler.class) {
+            try {
+                if (report.getParent() != null) {
+                    Files.createDirectories(report.getParent());
+                }
+                boolean newFile = !Files.exists(report);
+                try (Writer writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    if (newFile) {
+                        writer.write(REPORT_HEADER + System.lineSeparator());
+                    }
+                    writer.write(line + System.lineSeparator());
+                }
+            } catch (IOException e) {
+                LogUtils.warn("Failed to write driver recycle report: " + report, e);
+            }
+        }
+    }
+
+    /**
+     * @return number of sessions recycled so far in this JVM
+     */
+    public static long getRecycleCount() {
+        return RECYCLES.get();
+    }
+
+    /**
+     * Memory of the browser process and its descendants, shared pages split between them.
+     * @return PSS in bytes, or 0 when it cannot be measured (remote driver, non-Linux host)
+     */
+    static long getBrowserMemoryBytes(DriverSession session) {
+        if (!Files.isDirectory(PROC)) {
+            return 0;
+        }
+        long pid = session.getBrowserPid();
+        if (pid == 0) {
+            pid = findBrowserPid(session);
+            session.setBrowserPid(pid);
+        }
+        if (pid < 0) {
+            return 0;
+        }
+        return ProcessHandle.of(pid)
+                .map(root -> readPss(root.pid())
+                        + root.descendants().mapToLong(p -> readPss(p.pid())).sum())
+                .orElse(0L);
+    }
+
+    /**
+     * Firefox reports its pid as moz:processID; local Chrome is found among this JVM's
+     * descendant processes by the user-data-dir ChromeDriver reports in its capabilities.
+     * @return browser process id, or -1 if it cannot be determined
+     */
+    @SuppressWarnings("unchecked")
+    private static long findBrowserPid(DriverSession session) {
+        if (GridRouter.isConfigured() || !(session.getDriver() instanceof HasCapabilities)) {
+            return -1; // browser runs on another host or capabilities are unknown
+        }
+        try {
+            Capabilities caps = ((HasCapabilities) session.getDriver()).getCapabilities();
+            Object firefoxPid = caps.getCapability("moz:processID");
+            if (firefoxPid instanceof Number) {
+                return ((Number) firefoxPid).longValue();
+            }
+            Object chrome = caps.getCapability("chrome");
+            Object userDataDir = chrome instanceof Map ? ((Map<String, Object>) chrome).get("userDataDir") : null;
+            if (userDataDir != null) {
+                String flag = "--user-data-dir=" + userDataDir;
+                return ProcessHandle.current().descendants()
+                        .filter(p -> p.info().arguments()
+                                .map(args -> Arrays.asList(args).contains(flag))
+                                .orElse(false))
+                        .filter(p -> !p.parent().map(parent -> parent.info().arguments()
+                                        .map(args -> Arrays.asList(args).contains(flag))
+                                        .orElse(false))
+                                .orElse(false))
+                        .mapToLong(ProcessHandle::pid)
+                        .findFirst()
+                        .orElse(-1);
+            }
+        } catch (Exception e) {
+            LogUtils.warn("Unable to determine browser process id: " + e.getMessage());
+        }
+        return -1;
+    }
+
+    /**
+     * Pss from smaps_rollup (Linux 4.14+); on older kernels RssAnon from status, i.e. RSS
+     * without file-backed and shared pages, which undercounts rather than overcounts.
+     */
+    private static long readPss(long pid) {
+        Path rollup = PROC.resolve(pid + "/smaps_rollup");
+        return Files.exists(rollup) ? readKb(rollup, "Pss:") : readKb(PROC.resolve(pid + "/status"), "RssAnon:");
+    }
+
+    private static long readKb(Path file, String field) {
+        try {
+            for (String line : Files.readAllLines(file)) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // process exited between listing and reading
+        }
+        return 0;
+    }
+}
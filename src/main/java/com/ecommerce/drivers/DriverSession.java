@@ -0,0 +1,233 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.ScriptKey;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A WebDriver together with the bookkeeping DriverManager needs to reuse it.
+ * <p>
+ * Best practices:
+ * - Immutable identity (driver, browser, option profile, creation time)
+ * - Knows whether it belongs to the DriverPool so teardown can return instead of quit
+ * - Owns the session's DevTools connection and the add-ons installed on it
+ * - Hands out a decorated driver that counts commands (see SessionListener)
+ * - Owns the element cache used by @CachedElement page-object fields
+ * - Owns the scripts pinned by ScriptRegistry
+ */
+public final class DriverSession {
+    private final WebDriver rawDriver;
+    private final WebDriver driver;
+    private final AtomicLong commandCount = new AtomicLong();
+    private final ElementCache elementCache = new ElementCache();
+    private final Map<String, ScriptKey> pinnedScripts = new ConcurrentHashMap<>();
+    private volatile boolean scriptPinning;
+    private final String browser;
+    private final String profile;
+    private final long createdAtMillis;
+    private volatile boolean pooled;
+
+    private DevTools devTools;
+    private boolean devToolsOpened;
+    private volatile RequestBlocker requestBlocker;
+    private volatile NetworkTracker networkTracker;
+    private volatile FlightRecorder flightRecorder;
+    private volatile NetworkCapture networkCapture;
+    private volatile ConsoleCollector consoleCollector;
+    private volatile String snapshotScriptId;
+    private final Set<String> visitedOrigins = ConcurrentHashMap.newKeySet();
+    private volatile long browserPid;
+
+    DriverSession(WebDriver driver, String browser, String profile) {
+        this.rawDriver = driver;
+        this.driver = new EventFiringDecorator<WebDriver>(new SessionListener(commandCount, elementCache)).decorate(driver);
+        this.browser = browser;
+        this.profile = profile;
+        this.createdAtMillis = System.currentTimeMillis();
+        // remote drivers only have the inline default implementation of pin()
+        this.scriptPinning = driver instanceof ChromiumDriver;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return key identifying interchangeable sessions, e.g. "chrome:fast-headless"
+     */
+    public String getKey() {
+        return key(browser, profile);
+    }
+
+    static String key(String browser, String profile) {
+        return browser + ":" + profile;
+    }
+
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public long getUptimeMillis() {
+        return System.currentTimeMillis() - createdAtMillis;
+    }
+
+    /**
+     * @return number of WebDriver/WebElement commands sent through this session
+     */
+    public long getCommandCount() {
+        return commandCount.get();
+    }
+
+    /**
+     * @return element cache for @CachedElement fields, cleared on navigation
+     */
+    public ElementCache getElementCache() {
+        return elementCache;
+    }
+
+    boolean supportsScriptPinning() {
+        return scriptPinning;
+    }
+
+    void disableScriptPinning() {
+        this.scriptPinning = false;
+    }
+
+    /**
+     * @return script source to pinned key, see ScriptRegistry
+     */
+    Map<String, ScriptKey> getPinnedScripts() {
+        return pinnedScripts;
+    }
+
+    long getBrowserPid() {
+        return browserPid;
+    }
+
+    void setBrowserPid(long browserPid) {
+        this.browserPid = browserPid;
+    }
+
+    /**
+     * DevTools connection for this session, opened on first use.
+     * @return DevTools, or null if the driver does not support CDP
+     */
+    synchronized DevTools getDevTools() {
+        if (!devToolsOpened) {
+            devToolsOpened = true;
+            devTools = DevToolsSupport.open(rawDriver);
+        }
+        return devTools;
+    }
+
+    /**
+     * @return the third-party request blocker, or null if blocking is disabled or unsupported
+     */
+    public RequestBlocker getRequestBlocker() {
+        return requestBlocker;
+    }
+
+    void setRequestBlocker(RequestBlocker requestBlocker) {
+        this.requestBlocker = requestBlocker;
+    }
+
+    /**
+     * @return the in-flight request tracker, or null if tracking is disabled or unsupported
+     */
+    public NetworkTracker getNetworkTracker() {
+        return networkTracker;
+    }
+
+    void setNetworkTracker(NetworkTracker networkTracker) {
+        this.networkTracker = networkTracker;
+    }
+
+    /**
+     * @return the screencast flight recorder, or null if disabled or unsupported
+     */
+    public FlightRecorder getFlightRecorder() {
+        return flightRecorder;
+    }
+
+    void setFlightRecorder(FlightRecorder flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    /**
+     * @return the HAR network capture, or null if disabled or unsupported
+     */
+    public NetworkCapture getNetworkCapture() {
+        return networkCapture;
+    }
+
+    void setNetworkCapture(NetworkCapture networkCapture) {
+        this.networkCapture = networkCapture;
+    }
+
+    /**
+     * @return the console/JavaScript error collector, or null if disabled or unsupported
+     */
+    public ConsoleCollector getConsoleCollector() {
+        return consoleCollector;
+    }
+
+    void setConsoleCollector(ConsoleCollector consoleCollector) {
+        this.consoleCollector = consoleCollector;
+    }
+
+    String getSnapshotScriptId() {
+        return snapshotScriptId;
+    }
+
+    void setSnapshotScriptId(String snapshotScriptId) {
+        this.snapshotScriptId = snapshotScriptId;
+    }
+
+    /**
+     * @return origins of documents (pages and frames) loaded since the last pool reset; CDP drivers only
+     */
+    Set<String> getVisitedOrigins() {
+        return visitedOrigins;
+    }
+
+    /**
+     * Close the DevTools connection and quit the browser.
+     */
+    void quit() {
+        synchronized (this) {
+            if (devTools != null) {
+                try {
+                    devTools.close();
+                } catch (Exception e) {
+                    LogUtils.warn("Error closing DevTools connection: " + e.getMessage());
+                }
+                devTools = null;
+            }
+        }
+        driver.quit();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.drivers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-session cache of located elements, keyed by By, for page-object fields annotated
+ * with @CachedElement.
+ * <p>
+ * Best practices:
+ * - Cleared whenever the session navigates or switches window/frame (see SessionListener)
+ * - A single entry is revalidated only when using it throws StaleElementReferenceException
+ * - Hit/miss/revalidation counts are drained per test for the Allure report
+ */
+public final class ElementCache {
+    private final Map<By, WebElement> elements = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+
+    ElementCache() {
+    }
+
+    /**
+     * @param by     locator
+     * @param finder looks the element up on a miss
+     * @return cached element, or the freshly found one
+     */
+    public WebElement get(By by, Function<By, WebElement> finder) {
+        WebElement element = elements.get(by);
+        if (element != null) {
+            hits.incrementAndGet();
+            return element;
+        }
+        misses.incrementAndGet();
+        element = finder.apply(by);
+        elements.put(by, element);
+        return element;
+    }
+
+    /**
+     * Drop a single entry whose element went stale; the next get() re-finds it.
+     */
+    public void revalidate(By by) {
+        if (elements.remove(by) != null) {
+            revalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop every entry, e.g. after navigation or a window/frame switch.
+     */
+    void clear() {
+        elements.clear();
+    }
+
+    /**
+     * Summarize counters since the last drain and start counting again.
+     * @return summary, or null if the cache was not used
+     */
+    public String drain() {
+        long h = hits.getAndSet(0);
+        long m = misses.getAndSet(0);
+        long r = revalidations.getAndSet(0);
+        if (h + m == 0) {
+            return null;
+        }
+        return String.format("Hits: %d%nMisses: %d%nStale revalidations: %d%nHit rate: %.0f%%%n",
+                h, m, r, 100.0 * h / (h + m));
+    }
+}
@@ -0,0 +1,241 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.devtools.DevTools;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the last seconds of a session's screen as low-resolution DevTools screencast frames in
+ * a bounded in-memory ring buffer, so a failed test can attach what led up to the failure
+ * instead of a single end-of-test screenshot.
+ * <p>
+ * Best practices:
+ * - Off unless flight.recorder.enabled=true; Chrome/CDP only (other drivers get no recorder)
+ * - Frames older than flight.recorder.seconds are dropped, and the buffer never holds more than
+ *   flight.recorder.max.kb of JPEG data per session (oldest frames dropped first)
+ * - Frames are encoded to an animated GIF only when asked for (test failure), never per frame
+ */
+public final class FlightRecorder {
+    private static final long DEFAULT_SECONDS = 10;
+    private static final long DEFAULT_MAX_KB = 4096;
+    private static final long DEFAULT_MAX_WIDTH = 640;
+    private static final long DEFAULT_QUALITY = 40;
+    private static final long DEFAULT_EVERY_NTH_FRAME = 2;
+    /** The final frame (the failure state) is held for 2s before the GIF loops. */
+    private static final int LAST_FRAME_CENTIS = 200;
+
+    /** Frame acks are CDP commands; they must not be sent from the DevTools event thread. */
+    private static final ExecutorService ACKS = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "flight-recorder-ack");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private final long windowNanos;
+    private final long maxBytes;
+    private long bytes;
+    private long dropped;
+
+    private FlightRecorder(long windowSeconds, long maxBytes) {
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return true when flight.recorder.enabled=true in configuration
+     */
+    static boolean isEnabled() {
+        return ConfigReader.containsKey(AppConstants.KEY_FLIGHT_RECORDER_ENABLED)
+                && Boolean.parseBoolean(ConfigReader.get(AppConstants.KEY_FLIGHT_RECORDER_ENABLED));
+    }
+
+    private static long getLong(String key, long defaultValue) {
+        return ConfigReader.containsKey(key) ? ConfigReader.getLong(key) : defaultValue;
+    }
+
+    /**
+     * Start the screencast on the session's DevTools connection.
+     * @return the recorder, or null if disabled or unsupported
+     */
+    static FlightRecorder install(DriverSession session) {
+        if (!isEnabled()) {
+            return null;
+        }
+        DevTools devTools = session.getDevTools();
+        if (devTools == null) {
+            LogUtils.debug("Flight recorder unavailable for " + session.getBrowser() + " (no DevTools)");
+            return null;
+        }
+        FlightRecorder recorder = new FlightRecorder(
+                getLong(AppConstants.KEY_FLIGHT_RECORDER_SECONDS, DEFAULT_SECONDS),
+                1024 * getLong(AppConstants.KEY_FLIGHT_RECORDER_MAX_KB, DEFAULT_MAX_KB));
+        long maxWidth = getLong(AppConstants.KEY_FLIGHT_RECORDER_MAX_WIDTH, DEFAULT_MAX_WIDTH);
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", "jpeg");
+        params.put("quality", getLong(AppConstants.KEY_FLIGHT_RECORDER_QUALITY, DEFAULT_QUALITY));
+        params.put("maxWidth", maxWidth);
+        params.put("maxHeight", maxWidth);
+        params.put("everyNthFrame", DEFAULT_EVERY_NTH_FRAME);
+        try {
+            DevToolsSupport.on(devTools, "Page.screencastFrame", frame -> recorder.onFrame(devTools, frame));
+            DevToolsSupport.send(devTools, "Page.enable", Collections.emptyMap());
+            DevToolsSupport.send(devTools, "Page.startScreencast", params);
+            return recorder;
+        } catch (Exception e) {
+            LogUtils.warn("Failed to start flight recorder", e);
+            return null;
+        }
+    }
+
+    private void onFrame(DevTools devTools, Map<String, Object> params) {
+        Object sessionId = params.get("sessionId");
+        ACKS.execute(() -> {
+            try {
+                DevToolsSupport.send(devTools, "Page.screencastFrameAck", Collections.singletonMap("sessionId", sessionId));
+            } catch (Exception e) {
+                // session closing; the screencast stops with it
+            }
+        });
+        byte[] jpeg = Base64.getDecoder().decode(String.valueOf(params.get("data")));
+        add(new Frame(System.nanoTime(), jpeg));
+    }
+
+    private synchronized void add(Frame frame) {
+        frames.addLast(frame);
+        bytes += frame.jpeg.length;
+        while (frames.size() > 1
+                && (bytes > maxBytes || frame.nanos - frames.peekFirst().nanos > windowNanos)) {
+            bytes -= frames.removeFirst().jpeg.length;
+            dropped++;
+        }
+    }
+
+    /**
+     * Drop all frames, e.g. at test start or when a pooled session is reset.
+     */
+    public synchronized void clear() {
+        frames.clear();
+        bytes = 0;
+    }
+
+    /**
+     * @return JPEG bytes currently held (bounded by flight.recorder.max.kb)
+     */
+    public synchronized long getBufferedBytes() {
+        return bytes;
+    }
+
+    /**
+     * Encode the buffered frames as a looping animated GIF, with the recorded frame timing.
+     *
+     * @return GIF bytes, or null if no frames were recorded
+     */
+    public byte[] toGif() {
+        List<Frame> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(frames);
+        }
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.prepareWriteSequence(null);
+            for (int i = 0; i < snapshot.size(); i++) {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(snapshot.get(i).jpeg));
+                if (image == null) {
+                    continue;
+                }
+                int delayCentis = i + 1 < snapshot.size()
+                        ? (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(snapshot.get(i + 1).nanos - snapshot.get(i).nanos) / 10)
+                        : LAST_FRAME_CENTIS;
+                writer.writeToSequence(new IIOImage(image, null, frameMetadata(writer, image, delayCentis, i == 0)), null);
+            }
+            writer.endWriteSequence();
+        } catch (IOException e) {
+            LogUtils.warn("Failed to encode flight recorder frames", e);
+            return null;
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static IIOMetadata frameMetadata(ImageWriter writer, BufferedImage image, int delayCentis, boolean first)
+            throws IOException {
+        IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), null);
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+        IIOMetadataNode control = child(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", String.valueOf(delayCentis));
+        control.setAttribute("transparentColorIndex", "0");
+        if (first) {
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[] {1, 0, 0});
+            child(root, "ApplicationExtensions").appendChild(loop);
+        }
+        metadata.setFromTree(format, root);
+        return metadata;
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+        for (int i = 0; i < root.getLength(); i++) {
+            if (root.item(i).getNodeName().equalsIgnoreCase(name)) {
+                return (IIOMetadataNode) root.item(i);
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        return node;
+    }
+
+    /**
+     * @return frames and bytes held, frames dropped by the time/size bounds
+     */
+    public synchronized String getStats() {
+        long spanMillis = frames.size() > 1
+                ? TimeUnit.NANOSECONDS.toMillis(frames.peekLast().nanos - frames.peekFirst().nanos) : 0;
+        return String.format("frames=%d bytes=%d spanMs=%d dropped=%d", frames.size(), bytes, spanMillis, dropped);
+    }
+
+    private static final class Frame {
+        private final long nanos;
+        private final byte[] jpeg;
+
+        private Frame(long nanos, byte[] jpeg) {
+            this.nanos = nanos;
+            this.jpeg = jpeg;
+        }
+    }
+}
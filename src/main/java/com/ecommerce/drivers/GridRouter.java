@@ -0,0 +1,323 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.exceptions.FrameworkException;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Routes new remote sessions across several Selenium Grid / node endpoints.
+ * <p>
+ * Best practices:
+ * - Endpoints from seleniumGrid.urls (comma separated), falling back to seleniumGrid.url
+ * - Least-loaded selection from /status free slots, cached per browser for seleniumGrid.status.cache.ms;
+ *   ties keep the configured order
+ * - Failed or saturated endpoints fall back to the next one
+ * - Per-endpoint circuit breaker (seleniumGrid.breaker.failures, seleniumGrid.breaker.cooldown.seconds);
+ *   an unreachable /status counts as a failure and the endpoint is skipped
+ * - Per-endpoint session-creation latency for the suite report
+ */
+public final class GridRouter {
+    private static final long DEFAULT_STATUS_CACHE_MS = 2000;
+    private static final int DEFAULT_BREAKER_FAILURES = 3;
+    private static final long DEFAULT_BREAKER_COOLDOWN_SECONDS = 30;
+    private static final Duration STATUS_TIMEOUT = Duration.ofSeconds(3);
+
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(STATUS_TIMEOUT).build();
+    private static final Json JSON = new Json();
+    private static volatile List<Endpoint> endpoints;
+
+    private GridRouter() {
+        // prevent instantiation
+    }
+
+    /**
+     * @return true if seleniumGrid.urls or seleniumGrid.url is configured
+     */
+    public static boolean isConfigured() {
+        return ConfigReader.containsKey(AppConstants.KEY_GRID_URLS) || ConfigReader.containsKey(AppConstants.KEY_GRID_URL);
+    }
+
+    private static List<Endpoint> getEndpoints() {
+        if (endpoints == null) {
+            synchronized (GridRouter.class) {
+                if (endpoints == null) {
+                    String value = ConfigReader.containsKey(AppConstants.KEY_GRID_URLS)
+                            ? ConfigReader.get(AppConstants.KEY_GRID_URLS)
+                            : ConfigReader.get(AppConstants.KEY_GRID_URL);
+                    int failures = (int) getLong(AppConstants.KEY_GRID_BREAKER_FAILURES, DEFAULT_BREAKER_FAILURES);
+                    long cooldownMillis = TimeUnit.SECONDS.toMillis(
+                            getLong(AppConstants.KEY_GRID_BREAKER_COOLDOWN, DEFAULT_BREAKER_COOLDOWN_SECONDS));
+                    endpoints = Collections.unmodifiableList(Arrays.stream(value.split(","))
+                            .map(String::trim)
+                            .filter(url -> !url.isEmpty())
+                            .map(url -> new Endpoint(url, failures, cooldownMillis))
+                            .collect(Collectors.toList()));
+                }
+            }
+        }
+        return endpoints;
+    }
+
+    private static long getLong(String key, long defaultValue) {
+        return ConfigReader.containsKey(key) ? ConfigReader.getLong(key) : defaultValue;
+    }
+
+    /**
+     * Create a RemoteWebDriver on the least-loaded available endpoint, falling back through the others.
+     * @param browser lower-case browser name, matched against slot stereotypes
+     * @param options browser options
+     * @return new RemoteWebDriver
+     */
+    static WebDriver createDriver(String browser, Capabilities options) {
+        return createDriver(getEndpoints(), browser, options);
+    }
+
+    /**
+     * Like createDriver(browser, options), over an explicit endpoint list.
+     */
+    static WebDriver createDriver(List<Endpoint> endpoints, String browser, Capabilities options) {
+        Map<Endpoint, Integer> freeSlots = new LinkedHashMap<>();
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isAvailable()) {
+                int free = endpoint.refreshStatus(browser);
+                if (free != Endpoint.UNREACHABLE) {
+                    freeSlots.put(endpoint, free);
+                }
+            }
+        }
+        if (freeSlots.isEmpty()) {
+            throw new FrameworkException("All Selenium Grid endpoints are unavailable (circuit open or unreachable)");
+        }
+        // most free slots first, configured order on ties (stable sort);
+        // saturated endpoints stay as a last resort (the grid queues the request)
+        List<Endpoint> candidates = new ArrayList<>(freeSlots.keySet());
+        candidates.sort(Comparator.comparing(freeSlots::get, Comparator.reverseOrder()));
+
+        Exception lastError = null;
+        for (Endpoint endpoint : candidates) {
+            if (!endpoint.tryAcquire()) {
+                continue; // the half-open trial went to another thread in the meantime
+            }
+            long start = System.nanoTime();
+            try {
+                WebDriver driver = new RemoteWebDriver(endpoint.url, options);
+                endpoint.onSuccess(browser, System.nanoTime() - start);
+                LogUtils.info("Created " + browser + " session on " + endpoint.url
+                        + " (free slots: " + freeSlots.get(endpoint) + ")");
+                return driver;
+            } catch (Exception e) {
+                endpoint.onFailure();
+                lastError = e;
+                LogUtils.warn("Session creation failed on " + endpoint.url + ", trying next endpoint: " + e.getMessage());
+            }
+        }
+        throw new FrameworkException("Failed to create " + browser + " session on any Selenium Grid endpoint", lastError);
+    }
+
+    /**
+     * @return per-endpoint session-creation latency and circuit state, one line per endpoint
+     */
+    public static String getStats() {
+        if (endpoints == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Endpoint e : endpoints) {
+            long sessions = e.sessions.get();
+            sb.append(String.format("%s sessions=%d failures=%d avgCreateMs=%d maxCreateMs=%d circuit=%s%n",
+                    e.url, sessions, e.totalFailures.get(),
+                    sessions == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(e.createNanos.get() / sessions),
+                    TimeUnit.NANOSECONDS.toMillis(e.maxCreateNanos.get()),
+                    e.getCircuitState()));
+        }
+        return sb.toString();
+    }
+
+    static final class Endpoint {
+        /** refreshStatus result when /status could not be fetched. */
+        static final int UNREACHABLE = -1;
+
+        private final URL url;
+        private final URI statusUri;
+        private final int failureThreshold;
+        private final long cooldownMillis;
+
+        private final AtomicLong sessions = new AtomicLong();
+        private final AtomicLong totalFailures = new AtomicLong();
+        private final AtomicLong createNanos = new AtomicLong();
+        private final AtomicLong maxCreateNanos = new AtomicLong();
+
+        private final Map<String, SlotStatus> statusByBrowser = new ConcurrentHashMap<>();
+        private int consecutiveFailures;
+        private volatile long openUntilMillis;
+        private boolean halfOpenTrial;
+
+        Endpoint(String url, int failureThreshold, long cooldownMillis) {
+            this.failureThreshold = failureThreshold;
+            this.cooldownMillis = cooldownMillis;
+            try {
+                this.url = new URL(url);
+            } catch (MalformedURLException e) {
+                throw new FrameworkException("Invalid Selenium Grid URL: " + url, e);
+            }
+            String base = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+            this.statusUri = URI.create(base + "/status");
+        }
+
+        /**
+         * Side-effect free: closed circuit, or open circuit past its cooldown with no trial running.
+         */
+        synchronized boolean isAvailable() {
+            return consecutiveFailures < failureThreshold
+                    || (System.currentTimeMillis() >= openUntilMillis && !halfOpenTrial);
+        }
+
+        /**
+         * Called right before a session is requested. Closed circuit: allow. Open circuit: reject
+         * until the cooldown ends, then claim the single half-open trial, released by onSuccess/onFailure.
+         */
+        synchronized boolean tryAcquire() {
+            if (consecutiveFailures < failureThreshold) {
+                return true;
+            }
+            if (System.currentTimeMillis() < openUntilMillis || halfOpenTrial) {
+                return false;
+            }
+            halfOpenTrial = true;
+            return true;
+        }
+
+        /**
+         * @return CLOSED, OPEN (cooling down) or HALF_OPEN (cooldown over, next request is a trial)
+         */
+        synchronized String getCircuitState() {
+            if (consecutiveFailures < failureThreshold) {
+                return "CLOSED";
+            }
+            return System.currentTimeMillis() < openUntilMillis ? "OPEN" : "HALF_OPEN";
+        }
+
+        private synchronized void onSuccess(String browser, long elapsedNanos) {
+            consecutiveFailures = 0;
+            halfOpenTrial = false;
+            openUntilMillis = 0;
+            sessions.incrementAndGet();
+            createNanos.addAndGet(elapsedNanos);
+            maxCreateNanos.accumulateAndGet(elapsedNanos, Math::max);
+            SlotStatus status = statusByBrowser.get(browser);
+            if (status != null) {
+                status.freeSlots.updateAndGet(free -> free > 0 ? free - 1 : free);
+            }
+        }
+
+        private synchronized void onFailure() {
+            totalFailures.incrementAndGet();
+            consecutiveFailures++;
+            halfOpenTrial = false;
+            if (consecutiveFailures >= failureThreshold) {
+                openUntilMillis = System.currentTimeMillis() + cooldownMillis;
+                LogUtils.warn("Circuit opened for Selenium Grid endpoint " + url);
+            }
+        }
+
+        /**
+         * Refresh the browser's free-slot count from /status unless its cached value is still fresh.
+         * An unreachable /status counts as a failure towards the circuit breaker.
+         * @return free slots for the browser, or UNREACHABLE
+         */
+        int refreshStatus(String browser) {
+            long now = System.currentTimeMillis();
+            SlotStatus cached = statusByBrowser.get(browser);
+            if (cached != null
+                    && now - cached.fetchedAtMillis < getLong(AppConstants.KEY_GRID_STATUS_CACHE_MS, DEFAULT_STATUS_CACHE_MS)) {
+                return cached.freeSlots.get();
+            }
+            int free;
+            try {
+                HttpResponse<String> response = HTTP.send(
+                        HttpRequest.newBuilder(statusUri).timeout(STATUS_TIMEOUT).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                free = response.statusCode() == 200 ? countFreeSlots(response.body(), browser) : 0;
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                LogUtils.warn("Selenium Grid status unavailable for " + url + ": " + e.getMessage());
+                onFailure();
+                free = UNREACHABLE;
+            }
+            statusByBrowser.put(browser, new SlotStatus(free, now));
+            return free;
+        }
+
+        @SuppressWarnings("unchecked")
+        static int countFreeSlots(String body, String browser) {
+            Map<String, Object> status = JSON.toType(body, Json.MAP_TYPE);
+            Map<String, Object> value = (Map<String, Object>) status.get("value");
+            if (value == null || !Boolean.TRUE.equals(value.get("ready"))) {
+                return 0;
+            }
+            List<Map<String, Object>> nodes = (List<Map<String, Object>>) value.get("nodes");
+            if (nodes == null && value.get("node") instanceof Map) {
+                nodes = Collections.singletonList((Map<String, Object>) value.get("node"));
+            }
+            if (nodes == null) {
+                return 0;
+            }
+            int free = 0;
+            for (Map<String, Object> node : nodes) {
+                if (node.get("availability") != null && !"UP".equals(node.get("availability"))) {
+                    continue;
+                }
+                List<Map<String, Object>> slots = (List<Map<String, Object>>) node.get("slots");
+                if (slots == null) {
+                    continue;
+                }
+                for (Map<String, Object> slot : slots) {
+                    Map<String, Object> stereotype = (Map<String, Object>) slot.get("stereotype");
+                    boolean matches = stereotype != null
+                            && browser.equalsIgnoreCase(String.valueOf(stereotype.get("browserName")));
+                    if (matches && slot.get("session") == null) {
+                        free++;
+                    }
+                }
+            }
+            return free;
+        }
+    }
+
+    private static final class SlotStatus {
+        private final AtomicInteger freeSlots;
+        private final long fetchedAtMillis;
+
+        private SlotStatus(int freeSlots, long fetchedAtMillis) {
+            this.freeSlots = new AtomicInteger(freeSlots);
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.JsonUtils;
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records request/response metadata and timings of a session from CDP Network events into a
+ * bounded ring buffer, serialized to HAR 1.2 when a test fails.
+ * <p>
+ * Best practices:
+ * - Always on (network.capture.enabled=false to disable); Chrome/CDP only
+ * - Keeps the last network.capture.max.entries completed requests per session
+ * - Response bodies of document/XHR/fetch requests up to network.capture.body.max.kb are added
+ *   (0 = no bodies); they are fetched only when the HAR is built, for the newest requests first,
+ *   so passing tests never pay for a Network.getResponseBody call
+ * - Every completed request also feeds a suite-wide "slowest endpoints" summary (getSuiteReport)
+ */
+public final class NetworkCapture {
+    private static final int DEFAULT_MAX_ENTRIES = 500;
+    private static final long DEFAULT_BODY_MAX_KB = 64;
+    private static final int DEFAULT_REPORT_TOP = 20;
+    /** Upper bound on blocking Network.getResponseBody calls per HAR. */
+    private static final int MAX_BODY_FETCHES = 50;
+    private static final Map<String, EndpointStat> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private final DevTools devTools;
+    private final Map<String, Entry> inFlight = new ConcurrentHashMap<>();
+    private final ArrayDeque<Entry> completed = new ArrayDeque<>();
+    private final int maxEntries;
+    private final long bodyMaxBytes;
+    private long dropped;
+
+    private NetworkCapture(DevTools devTools, int maxEntries, long bodyMaxBytes) {
+        this.devTools = devTools;
+        this.maxEntries = maxEntries;
+        this.bodyMaxBytes = bodyMaxBytes;
+    }
+
+    /**
+     * @return true unless network.capture.enabled=false
+     */
+    static boolean isEnabled() {
+        return !ConfigReader.containsKey(AppConstants.KEY_NETWORK_CAPTURE_ENABLED)
+                || Boolean.parseBoolean(ConfigReader.get(AppConstants.KEY_NETWORK_CAPTURE_ENABLED));
+    }
+
+    /**
+     * Start capturing on the session's DevTools connection.
+     * @return the capture, or null if disabled or unsupported
+     */
+    static NetworkCapture install(DriverSession session) {
+        if (!isEnabled()) {
+            return null;
+        }
+        DevTools devTools = session.getDevTools();
+        if (devTools == null) {
+            LogUtils.debug("Network capture unavailable for " + session.getBrowser() + " (no DevTools)");
+            return null;
+        }
+        NetworkCapture capture = new NetworkCapture(devTools,
+                ConfigReader.containsKey(AppConstants.KEY_NETWORK_CAPTURE_MAX_ENTRIES)
+                        ? (int) ConfigReader.getLong(AppConstants.KEY_NETWORK_CAPTURE_MAX_ENTRIES)
+                        : DEFAULT_MAX_ENTRIES,
+                1024 * (ConfigReader.containsKey(AppConstants.KEY_NETWORK_CAPTURE_BODY_MAX_KB)
+                        ? ConfigReader.getLong(AppConstants.KEY_NETWORK_CAPTURE_BODY_MAX_KB)
+                        : DEFAULT_BODY_MAX_KB));
+        try {
+            DevToolsSupport.send(devTools, "Network.enable", Collections.emptyMap());
+            DevToolsSupport.on(devTools, "Network.requestWillBeSent", capture::onRequest);
+            DevToolsSupport.on(devTools, "Network.responseReceived", capture::onResponse);
+            DevToolsSupport.on(devTools, "Network.loadingFinished", capture::onFinished);
+            DevToolsSupport.on(devTools, "Network.loadingFailed", capture::onFailed);
+            return capture;
+        } catch (Exception e) {
+            LogUtils.warn("Failed to install network capture", e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequest(Map<String, Object> params) {
+        String id = String.valueOf(params.get("requestId"));
+        Entry previous = inFlight.get(id);
+        Map<String, Object> redirect = (Map<String, Object>) params.get("redirectResponse");
+        if (previous != null && redirect != null) {
+            // redirects re-use the request id: complete the redirect hop as its own entry
+            previous.response = redirect;
+            complete(previous, number(params.get("timestamp")));
+        }
+        Entry entry = new Entry();
+        entry.request = (Map<String, Object>) params.get("request");
+        entry.type = String.valueOf(params.get("type"));
+        entry.startMonotonic = number(params.get("timestamp"));
+        entry.startWall = number(params.get("wallTime"));
+        inFlight.put(id, entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onResponse(Map<String, Object> params) {
+        Entry entry = inFlight.get(String.valueOf(params.get("requestId")));
+        if (entry != null) {
+            entry.response = (Map<String, Object>) params.get("response");
+        }
+    }
+
+    private void onFinished(Map<String, Object> params) {
+        String id = String.valueOf(params.get("requestId"));
+        Entry entry = inFlight.remove(id);
+        if (entry == null) {
+            return;
+        }
+        entry.encodedSize = (long) number(params.get("encodedDataLength"));
+        if (bodyMaxBytes > 0 && entry.encodedSize <= bodyMaxBytes && hasTextBody(entry)) {
+            entry.bodyRequestId = id; // fetched lazily by toHar
+        }
+        complete(entry, number(params.get("timestamp")));
+    }
+
+    private void onFailed(Map<String, Object> params) {
+        Entry entry = inFlight.remove(String.valueOf(params.get("requestId")));
+        if (entry != null) {
+            entry.error = String.valueOf(params.get("errorText"));
+            complete(entry, number(params.get("timestamp")));
+        }
+    }
+
+    private static boolean hasTextBody(Entry entry) {
+        return "Document".equals(entry.type) || "XHR".equals(entry.type) || "Fetch".equals(entry.type);
+    }
+
+    private void fetchBody(Entry entry) {
+        try {
+            Map<String, Object> result = DevToolsSupport.call(devTools, "Network.getResponseBody",
+                    Collections.singletonMap("requestId", entry.bodyRequestId));
+            String body = String.valueOf(result.get("body"));
+            boolean base64 = Boolean.TRUE.equals(result.get("base64Encoded"));
+            if (body.length() > bodyMaxBytes) {
+                if (base64) {
+                    return; // a cut base64 body cannot be decoded; keep metadata only
+                }
+                body = body.substring(0, (int) bodyMaxBytes);
+            }
+            entry.body = body;
+            entry.bodyBase64 = base64;
+        } catch (Exception e) {
+            // body already evicted by the browser, or the session is closing
+        }
+    }
+
+    private void complete(Entry entry, double endMonotonic) {
+        entry.timeMillis = Math.max(0, (endMonotonic - entry.startMonotonic) * 1000);
+        synchronized (completed) {
+            completed.addLast(entry);
+            while (completed.size() > maxEntries) {
+                completed.removeFirst();
+                dropped++;
+            }
+        }
+        if (entry.request != null) {
+            ENDPOINTS.computeIfAbsent(endpointOf(entry), k -> new EndpointStat()).add((long) entry.timeMillis);
+        }
+    }
+
+    /**
+     * Forget captured requests, e.g. at test start or when a pooled session is reset.
+     */
+    public void clear() {
+        inFlight.clear();
+        synchronized (completed) {
+            completed.clear();
+            dropped = 0;
+        }
+    }
+
+    /**
+     * @return requests currently held in the ring buffer
+     */
+    public int size() {
+        synchronized (completed) {
+            return completed.size();
+        }
+    }
+
+    /**
+     * Serialize the buffered requests (and those still in flight) as HAR 1.2. Fetches the pending
+     * response bodies first; must not be called from the DevTools event thread.
+     */
+    public String toHar() {
+        List<Entry> entries;
+        long droppedCount;
+        synchronized (completed) {
+            entries = new ArrayList<>(completed);
+            droppedCount = dropped;
+        }
+        int fetches = 0;
+        for (int i = entries.size() - 1; i >= 0 && fetches < MAX_BODY_FETCHES; i--) {
+            Entry entry = entries.get(i);
+            if (entry.bodyRequestId != null && entry.body == null) {
+                fetchBody(entry);
+                entry.bodyRequestId = null; // fetched or evicted; do not ask again
+                fetches++;
+            }
+        }
+        entries.addAll(inFlight.values());
+        List<Map<String, Object>> harEntries = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.request != null) {
+                harEntries.add(entry.toHar());
+            }
+        }
+        Map<String, Object> creator = new LinkedHashMap<>();
+        creator.put("name", "ecommerce-automation NetworkCapture");
+        creator.put("version", "1.0");
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", creator);
+        log.put("pages", Collections.emptyList());
+        log.put("entries", harEntries);
+        if (droppedCount > 0) {
+            log.put("comment", droppedCount + " earlier request(s) dropped, network.capture.max.entries=" + maxEntries);
+        }
+        return JsonUtils.toJsonString(Collections.singletonMap("log", log));
+    }
+
+    /**
+     * Slowest endpoints (method, host and path with numeric segments collapsed) across the suite.
+     * @return report text, or an empty string if nothing was captured
+     */
+    public static String getSuiteReport() {
+        if (ENDPOINTS.isEmpty()) {
+            return "";
+        }
+        int top = ConfigReader.containsKey(AppConstants.KEY_NETWORK_CAPTURE_REPORT_TOP)
+                ? (int) ConfigReader.getLong(AppConstants.KEY_NETWORK_CAPTURE_REPORT_TOP)
+                : DEFAULT_REPORT_TOP;
+        List<Map.Entry<String, EndpointStat>> endpoints = new ArrayList<>(ENDPOINTS.entrySet());
+        endpoints.sort(Comparator.comparingLong((Map.Entry<String, EndpointStat> e) -> e.getValue().maxMillis.get()).reversed());
+        StringBuilder sb = new StringBuilder("Slowest endpoints (max time):").append(System.lineSeparator());
+        for (Map.Entry<String, EndpointStat> entry : endpoints.subList(0, Math.min(top, endpoints.size()))) {
+            EndpointStat s = entry.getValue();
+            sb.append(String.format("  %s calls=%d avgMs=%.1f maxMs=%d%n",
+                    entry.getKey(), s.count.get(), (double) s.totalMillis.get() / s.count.get(), s.maxMillis.get()));
+        }
+        return sb.toString();
+    }
+
+    private static String endpointOf(Entry entry) {
+        String url = String.valueOf(entry.request.get("url"));
+        try {
+            URI uri = URI.create(url);
+            String path = uri.getPath() == null ? "" : uri.getPath().replaceAll("/\\d+(?=/|$)", "/{id}");
+            return entry.request.get("method") + " " + uri.getHost() + path;
+        } catch (IllegalArgumentException e) {
+            return entry.request.get("method") + " " + url;
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static final class EndpointStat {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        private void add(long millis) {
+            count.incrementAndGet();
+            totalMillis.addAndGet(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+    }
+
+    /**
+     * One request as reported by CDP; written by the DevTools event thread, read on failure.
+     */
+    private static final class Entry {
+        private volatile Map<String, Object> request;
+        private volatile Map<String, Object> response;
+        private volatile String type;
+        private volatile double startMonotonic;
+        private volatile double startWall;
+        private volatile double timeMillis = -1;
+        private volatile long encodedSize = -1;
+        private volatile String error;
+        private volatile String bodyRequestId;
+        private volatile String body;
+        private volatile boolean bodyBase64;
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> toHar() {
+            Map<String, Object> har = new LinkedHashMap<>();
+            har.put("startedDateTime", Instant.ofEpochMilli((long) (startWall * 1000)).toString());
+            har.put("time", Math.max(0, timeMillis));
+            Map<String, Object> req = new LinkedHashMap<>();
+            req.put("method", request.get("method"));
+            req.put("url", request.get("url"));
+            req.put("httpVersion", response != null ? String.valueOf(response.get("protocol")) : "");
+            req.put("cookies", Collections.emptyList());
+            req.put("headers", headers((Map<String, Object>) request.get("headers")));
+            req.put("queryString", Collections.emptyList());
+            req.put("headersSize", -1);
+            req.put("bodySize", request.containsKey("postData") ? String.valueOf(request.get("postData")).length() : 0);
+            har.put("request", req);
+
+            Map<String, Object> res = new LinkedHashMap<>();
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("size", encodedSize);
+            if (response != null) {
+                res.put("status", response.get("status"));
+                res.put("statusText", response.get("statusText"));
+                res.put("httpVersion", String.valueOf(response.get("protocol")));
+                res.put("headers", headers((Map<String, Object>) response.get("headers")));
+                content.put("mimeType", response.get("mimeType"));
+            } else {
+                res.put("status", 0);
+                res.put("statusText", error != null ? error : "(pending)");
+                res.put("httpVersion", "");
+                res.put("headers", Collections.emptyList());
+                content.put("mimeType", "");
+            }
+            if (body != null) {
+                content.put("text", body);
+                if (bodyBase64) {
+                    content.put("encoding", "base64");
+                }
+            }
+            res.put("cookies", Collections.emptyList());
+            res.put("content", content);
+            res.put("redirectURL", "");
+            res.put("headersSize", -1);
+            res.put("bodySize", encodedSize);
+            har.put("response", res);
+            har.put("cache", Collections.emptyMap());
+            har.put("timings", timings());
+            if (error != null) {
+                har.put("comment", error);
+            }
+            return har;
+        }
+
+        /**
+         * HAR timings from CDP ResourceTiming (offsets in ms from requestTime); -1 = not applicable.
+         */
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> timings() {
+            Map<String, Object> timing = response != null ? (Map<String, Object>) response.get("timing") : null;
+            Map<String, Object> har = new LinkedHashMap<>();
+            if (timing == null) {
+                har.put("send", 0);
+                har.put("wait", Math.max(0, timeMillis));
+                har.put("receive", 0);
+                return har;
+            }
+            double headersEnd = number(timing.get("receiveHeadersEnd"));
+            double sendStart = number(timing.get("sendStart"));
+            double sendEnd = number(timing.get("sendEnd"));
+            double queued = (number(timing.get("requestTime")) - startMonotonic) * 1000;
+            har.put("blocked", Math.max(0, queued));
+            har.put("dns", span(timing, "dnsStart", "dnsEnd"));
+            har.put("connect", span(timing, "connectStart", "connectEnd"));
+            har.put("ssl", span(timing, "sslStart", "sslEnd"));
+            har.put("send", Math.max(0, sendEnd - sendStart));
+            har.put("wait", Math.max(0, headersEnd - sendEnd));
+            har.put("receive", Math.max(0, timeMillis - Math.max(0, queued) - headersEnd));
+            return har;
+        }
+
+        private static double span(Map<String, Object> timing, String start, String end) {
+            double s = number(timing.get(start));
+            double e = number(timing.get(end));
+            return s < 0 || e < 0 ? -1 : e - s;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts in-flight network requests (document, XHR, fetch, assets) of a session from CDP
+ * Network events, so waits can resolve on network idle instead of fixed sleeps.
+ * <p>
+ * Best practices:
+ * - Installed at session creation (network.idle.tracking.enabled) so no request is missed
+ * - Requests open longer than network.idle.request.timeout.ms (long polling, streaming) are
+ *   treated as background traffic and do not block idleness
+ * - Drivers without CDP support get no tracker; WaitUtils falls back to a Resource Timing check
+ */
+public final class NetworkTracker {
+    private static final long DEFAULT_REQUEST_TIMEOUT_MS = 10_000;
+
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private final long requestTimeoutNanos;
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    private NetworkTracker(long requestTimeoutMillis) {
+        this.requestTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(requestTimeoutMillis);
+    }
+
+    /**
+     * @return true unless network.idle.tracking.enabled=false
+     */
+    static boolean isEnabled() {
+        return !ConfigReader.containsKey(AppConstants.KEY_NETWORK_IDLE_TRACKING)
+                || Boolean.parseBoolean(ConfigReader.get(AppConstants.KEY_NETWORK_IDLE_TRACKING));
+    }
+
+    /**
+     * Start tracking requests on the session's DevTools connection.
+     * @return the tracker, or null if tracking is disabled or unsupported
+     */
+    static NetworkTracker install(DriverSession session) {
+        if (!isEnabled()) {
+            return null;
+        }
+        DevTools devTools = session.getDevTools();
+        if (devTools == null) {
+            LogUtils.debug("Network idle tracking unavailable for " + session.getBrowser() + " (no DevTools)");
+            return null;
+        }
+        NetworkTracker tracker = new NetworkTracker(ConfigReader.containsKey(AppConstants.KEY_NETWORK_IDLE_REQUEST_TIMEOUT)
+                ? ConfigReader.getLong(AppConstants.KEY_NETWORK_IDLE_REQUEST_TIMEOUT)
+                : DEFAULT_REQUEST_TIMEOUT_MS);
+        try {
+            DevToolsSupport.send(devTools, "Network.enable", Collections.emptyMap());
+            DevToolsSupport.on(devTools, "Network.requestWillBeSent", tracker::onStarted);
+            DevToolsSupport.on(devTools, "Network.loadingFinished", tracker::onEnded);
+            DevToolsSupport.on(devTools, "Network.loadingFailed", tracker::onEnded);
+            return tracker;
+        } catch (Exception e) {
+            LogUtils.warn("Failed to install network idle tracking", e);
+            return null;
+        }
+    }
+
+    private void onStarted(Map<String, Object> params) {
+        // redirects re-use the request id, so the request stays counted once
+        inFlight.putIfAbsent(String.valueOf(params.get("requestId")), System.nanoTime());
+        lastActivityNanos = System.nanoTime();
+    }
+
+    private void onEnded(Map<String, Object> params) {
+        inFlight.remove(String.valueOf(params.get("requestId")));
+        lastActivityNanos = System.nanoTime();
+    }
+
+    /**
+     * @return requests currently in flight, excluding long-running background requests
+     */
+    public int getInFlight() {
+        long now = System.nanoTime();
+        int count = 0;
+        for (long startedAt : inFlight.values()) {
+            if (now - startedAt < requestTimeoutNanos) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param quietWindow how long no request may have been in flight
+     * @return true once nothing was in flight for the whole quiet window
+     */
+    public boolean isIdle(Duration quietWindow) {
+        if (getInFlight() > 0) {
+            return false;
+        }
+        // a background request expiring also counts as the start of the quiet window
+        long quietSince = lastActivityNanos;
+        for (long startedAt : inFlight.values()) {
+            quietSince = Math.max(quietSince, startedAt + requestTimeoutNanos);
+        }
+        return System.nanoTime() - quietSince >= quietWindow.toNanos();
+    }
+
+    /**
+     * Forget all tracked requests, e.g. when a pooled session is reset.
+     */
+    void reset() {
+        inFlight.clear();
+        lastActivityNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Blocks third-party requests (analytics, ads, chat widgets) in the browser before they
+ * reach the network, using CDP Network.setBlockedURLs.
+ * <p>
+ * Best practices:
+ * - URL patterns from network.blocklist (comma separated, '*' wildcards over the whole URL, anchored
+ *   to hosts as *://*.vendor.com/*), overridable per environment
+ * - Counters are per session and reset per test by the listeners
+ * - Drivers without CDP support (e.g. Firefox) run unblocked with a warning
+ */
+public final class RequestBlocker {
+    private final AtomicLong blockedRequests = new AtomicLong();
+    private final AtomicLong transferredBytes = new AtomicLong();
+    private final Map<String, AtomicLong> blockedByHost = new ConcurrentHashMap<>();
+    private final Map<String, String> requestUrls = new ConcurrentHashMap<>();
+
+    private RequestBlocker() {
+    }
+
+    /**
+     * @return configured URL patterns, or an empty list when blocking is disabled
+     */
+    static List<String> getPatterns() {
+        if (!ConfigReader.containsKey(AppConstants.KEY_NETWORK_BLOCKLIST)) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(ConfigReader.get(AppConstants.KEY_NETWORK_BLOCKLIST).split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Install the blocklist on the session's DevTools connection.
+     * @return the blocker, or null if blocking is disabled or unsupported
+     */
+    static RequestBlocker install(DriverSession session) {
+        List<String> patterns = getPatterns();
+        if (patterns.isEmpty()) {
+            return null;
+        }
+        DevTools devTools = session.getDevTools();
+        if (devTools == null) {
+            LogUtils.warn("Request blocking unavailable for " + session.getBrowser() + " (no DevTools)");
+            return null;
+        }
+        RequestBlocker blocker = new RequestBlocker();
+        try {
+            DevToolsSupport.send(devTools, "Network.enable", Collections.emptyMap());
+            DevToolsSupport.send(devTools, "Network.setBlockedURLs", Collections.singletonMap("urls", patterns));
+            DevToolsSupport.on(devTools, "Network.requestWillBeSent", blocker::onRequest);
+            DevToolsSupport.on(devTools, "Network.loadingFailed", blocker::onLoadingFailed);
+            DevToolsSupport.on(devTools, "Network.loadingFinished", blocker::onLoadingFinished);
+            LogUtils.info("Blocking " + patterns.size() + " third-party URL pattern(s)");
+            return blocker;
+        } catch (Exception e) {
+            LogUtils.warn("Failed to install request blocklist", e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequest(Map<String, Object> params) {
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        if (request != null) {
+            requestUrls.put(String.valueOf(params.get("requestId")), String.valueOf(request.get("url")));
+        }
+    }
+
+    private void onLoadingFailed(Map<String, Object> params) {
+        String requestId = String.valueOf(params.get("requestId"));
+        String url = requestUrls.remove(requestId);
+        if (params.get("blockedReason") != null) {
+            blockedRequests.incrementAndGet();
+            blockedByHost.computeIfAbsent(hostOf(url), h -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private void onLoadingFinished(Map<String, Object> params) {
+        requestUrls.remove(String.valueOf(params.get("requestId")));
+        Object length = params.get("encodedDataLength");
+        if (length instanceof Number) {
+            transferredBytes.addAndGet(((Number) length).longValue());
+        }
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = url != null ? URI.create(url).getHost() : null;
+            return host != null ? host : "unknown";
+        } catch (IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * @return requests blocked since the last drain
+     */
+    long getBlockedRequests() {
+        return blockedRequests.get();
+    }
+
+    /**
+     * Summarize counters since the last reset and start counting again.
+     * @return human-readable summary for the Allure attachment
+     */
+    public String drain() {
+        StringBuilder sb = new StringBuilder()
+                .append("Blocked requests: ").append(blockedRequests.getAndSet(0)).append(System.lineSeparator())
+                .append("Transferred bytes (unblocked): ").append(transferredBytes.getAndSet(0))
+                .append(System.lineSeparator());
+        blockedByHost.forEach((host, count) ->
+                sb.append("  ").append(host).append(": ").append(count.get()).append(System.lineSeparator()));
+        blockedByHost.clear();
+        requestUrls.clear();
+        return sb.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs framework JavaScript through scripts pinned once per session (Selenium 4 ScriptKey),
+ * so later calls send a short function reference instead of the whole source.
+ * <p>
+ * Best practices:
+ * - Scripts are identified by their source; pass the same constant on every call
+ * - Pinning is used on local Chromium drivers; others execute inline (same results)
+ * - Every PINNED_SAMPLE_RATE-th pinned call runs inline to measure the time actually saved
+ * - Bytes and time saved are reported per suite (getStats)
+ */
+public final class ScriptRegistry {
+    /** Approximate size of the function call the driver sends for a pinned script. */
+    private static final int PINNED_CALL_BYTES = 64;
+    private static final int PINNED_SAMPLE_RATE = 50;
+
+    private static final AtomicLong PINNED_CALLS = new AtomicLong();
+    private static final AtomicLong INLINE_CALLS = new AtomicLong();
+    private static final AtomicLong BYTES_SAVED = new AtomicLong();
+    private static final AtomicLong PINNED_NANOS = new AtomicLong();
+    private static final AtomicLong SAMPLED_INLINE_CALLS = new AtomicLong();
+    private static final AtomicLong SAMPLED_INLINE_NANOS = new AtomicLong();
+
+    private ScriptRegistry() {
+        // prevent instantiation
+    }
+
+    /**
+     * Execute a script on the current thread's session, pinning it on first use.
+     *
+     * @param script JavaScript source (a constant; it is the pin key)
+     * @param args   script arguments
+     * @return script result, as JavascriptExecutor.executeScript
+     */
+    public static Object execute(String script, Object... args) {
+        DriverSession session = DriverManager.getSession();
+        JavascriptExecutor js = (JavascriptExecutor) session.getDriver();
+        ScriptKey key = session.supportsScriptPinning() ? pin(session, js, script) : null;
+        if (key == null) {
+            INLINE_CALLS.incrementAndGet();
+            return js.executeScript(script, args);
+        }
+        long calls = PINNED_CALLS.incrementAndGet();
+        long start = System.nanoTime();
+        if (calls % PINNED_SAMPLE_RATE == 0) {
+            Object result = js.executeScript(script, args);
+            SAMPLED_INLINE_NANOS.addAndGet(System.nanoTime() - start);
+            SAMPLED_INLINE_CALLS.incrementAndGet();
+            return result;
+        }
+        Object result = js.executeScript(key, args);
+        PINNED_NANOS.addAndGet(System.nanoTime() - start);
+        BYTES_SAVED.addAndGet(Math.max(0, script.getBytes(StandardCharsets.UTF_8).length - PINNED_CALL_BYTES));
+        return result;
+    }
+
+    private static ScriptKey pin(DriverSession session, JavascriptExecutor js, String script) {
+        return session.getPinnedScripts().computeIfAbsent(script, source -> {
+            try {
+                return js.pin(source);
+            } catch (Exception e) {
+                LogUtils.warn("Script pinning unavailable, executing inline: " + e.getMessage());
+                session.disableScriptPinning();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @return pinned/inline call counts, bytes saved and the estimated time saved
+     */
+    public static String getStats() {
+        long pinned = PINNED_CALLS.get();
+        long inline = INLINE_CALLS.get();
+        if (pinned + inline == 0) {
+            return "";
+        }
+        long sampled = SAMPLED_INLINE_CALLS.get();
+        long pinnedOnly = pinned - sampled;
+        String timeSaved = "n/a (no inline samples yet)";
+        if (sampled > 0 && pinnedOnly > 0) {
+            double avgInline = (double) SAMPLED_INLINE_NANOS.get() / sampled;
+            double avgPinned = (double) PINNED_NANOS.get() / pinnedOnly;
+            timeSaved = TimeUnit.NANOSECONDS.toMillis((long) ((avgInline - avgPinned) * pinnedOnly)) + "ms";
+        }
+        return String.format("pinnedCalls=%d inlineCalls=%d bytesSaved=%d estimatedTimeSaved=%s%n",
+                pinned, inline, BYTES_SAVED.get(), timeSaved);
+    }
+}
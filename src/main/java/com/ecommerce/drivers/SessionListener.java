@@ -0,0 +1,98 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.reporting.TimingRecorder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebDriverListener installed on every DriverSession to count and time commands sent to the browser.
+ * Calls that only return local helper objects (manage(), navigate(), ...) are neither counted nor timed.
+ * Timings, with the locator and page involved, go to TimingRecorder.
+ * Navigation and window/frame switches clear the session's ElementCache.
+ */
+final class SessionListener implements WebDriverListener {
+    private static final Set<String> LOCAL_CALLS = new HashSet<>(Arrays.asList(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals"));
+    /** Navigation and TargetLocator calls after which cached elements belong to another document. */
+    private static final Set<String> CONTEXT_CHANGES = new HashSet<>(Arrays.asList(
+            "to", "back", "forward", "refresh", "frame", "parentFrame", "defaultContent", "newWindow"));
+
+    /** Start of the command in flight on this thread; commands on one thread never nest. */
+    private static final ThreadLocal<long[]> STARTED_AT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final AtomicLong commandCount;
+    private final ElementCache elementCache;
+
+    SessionListener(AtomicLong commandCount, ElementCache elementCache) {
+        this.commandCount = commandCount;
+        this.elementCache = elementCache;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_CALLS.contains(method.getName())) {
+            commandCount.incrementAndGet();
+            if (TimingRecorder.isEnabled()) {
+                STARTED_AT.get()[0] = System.nanoTime();
+            }
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        String name = method.getName();
+        if (CONTEXT_CHANGES.contains(name)
+                || (target instanceof WebDriver && "get".equals(name))
+                // TargetLocator.window(handle), not Options.window()
+                || ("window".equals(name) && args != null && args.length == 1)) {
+            elementCache.clear();
+        }
+        record(target, method, args, result);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        // failed commands (e.g. NoSuchElement while polling) are round-trips too
+        record(target, method, args, null);
+    }
+
+    private static void record(Object target, Method method, Object[] args, Object result) {
+        long[] startedAt = STARTED_AT.get();
+        if (startedAt[0] == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startedAt[0];
+        startedAt[0] = 0;
+        String name = method.getName();
+        Object firstArg = args != null && args.length > 0 ? args[0] : null;
+        if ((target instanceof WebDriver && "get".equals(name)) || "to".equals(name)) {
+            TimingRecorder.setPage(String.valueOf(firstArg));
+        } else if ("getCurrentUrl".equals(name) && result != null) {
+            TimingRecorder.setPage(String.valueOf(result));
+        }
+        TimingRecorder.recordCommand(name, locatorOf(target, firstArg), elapsed);
+    }
+
+    /**
+     * @return the By of find calls, the locator part of an element's description, or null
+     */
+    private static String locatorOf(Object target, Object firstArg) {
+        if (firstArg instanceof By) {
+            return firstArg.toString();
+        }
+        if (target instanceof WebElement) {
+            return TimingRecorder.locatorOf(target);
+        }
+        return null;
+    }
+}
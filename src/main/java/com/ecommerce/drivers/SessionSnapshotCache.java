@@ -0,0 +1,261 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Caches authenticated browser state (cookies, localStorage, sessionStorage) per user and
+ * environment so tests can skip the UI login.
+ * <p>
+ * Best practices:
+ * - Snapshots expire after session.snapshot.ttl.minutes
+ * - On CDP drivers state is injected before the first navigation (Network.setCookies and a
+ *   document-start storage script); other drivers fall back to one navigation to the origin
+ * - login() runs the whole cycle: restore, verify, and on a stale snapshot discard, UI login
+ *   and re-capture
+ */
+public final class SessionSnapshotCache {
+    private static final long DEFAULT_TTL_MINUTES = 30;
+    private static final String MARKER_KEY = "__fwSessionSnapshot";
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "var dump = function (s) { var o = {}; for (var i = 0; i < s.length; i++) {"
+            + " var k = s.key(i); o[k] = s.getItem(k); } return o; };"
+            + "return { origin: location.origin, local: dump(window.localStorage),"
+            + " session: dump(window.sessionStorage) };";
+
+    private static final Map<String, Snapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+    private static final Json JSON = new Json();
+
+    private SessionSnapshotCache() {
+        // prevent instantiation
+    }
+
+    /**
+     * @return true unless session.snapshot.enabled=false
+     */
+    public static boolean isEnabled() {
+        return !ConfigReader.containsKey(AppConstants.KEY_SESSION_SNAPSHOT_ENABLED)
+                || Boolean.parseBoolean(ConfigReader.get(AppConstants.KEY_SESSION_SNAPSHOT_ENABLED));
+    }
+
+    private static long getTtlMillis() {
+        long minutes = ConfigReader.containsKey(AppConstants.KEY_SESSION_SNAPSHOT_TTL)
+                ? ConfigReader.getLong(AppConstants.KEY_SESSION_SNAPSHOT_TTL)
+                : DEFAULT_TTL_MINUTES;
+        return TimeUnit.MINUTES.toMillis(minutes);
+    }
+
+    private static String cacheKey(String user) {
+        return ConfigReader.getEnv() + ":" + user;
+    }
+
+    /**
+     * Log the user in on the current thread's session at url, reusing the cached snapshot while
+     * it still authenticates. Otherwise (no snapshot, expired, or the login form still shows after
+     * restoring) the snapshot is discarded, the UI login runs and a fresh snapshot is captured.
+     *
+     * @param user           snapshot key, normally the users.json username
+     * @param url            page that shows the login form to anonymous visitors
+     * @param loginFormShown true while the current page still asks for credentials
+     * @param uiLogin        performs the UI login on the login form
+     * @return true if the cached snapshot was reused
+     */
+    public static boolean login(String user, String url, BooleanSupplier loginFormShown, Runnable uiLogin) {
+        WebDriver driver = DriverManager.getDriver();
+        if (isEnabled() && restore(user)) {
+            driver.get(url);
+            if (!loginFormShown.getAsBoolean()) {
+                return true;
+            }
+            LogUtils.warn("Session snapshot for " + user + " no longer valid, logging in through UI");
+            discard(user);
+        }
+        driver.get(url);
+        uiLogin.run();
+        if (isEnabled()) {
+            capture(user);
+        }
+        return false;
+    }
+
+    /**
+     * Capture the current thread's browser state for the given (logged-in) user.
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(String user) {
+        WebDriver driver = DriverManager.getDriver();
+        Map<String, Object> storage = (Map<String, Object>) ScriptRegistry.execute(CAPTURE_STORAGE_SCRIPT);
+        Map<String, Object> session = new HashMap<>((Map<String, Object>) storage.get("session"));
+        session.remove(MARKER_KEY);
+        Snapshot snapshot = new Snapshot(
+                driver.manage().getCookies(),
+                String.valueOf(storage.get("origin")),
+                (Map<String, Object>) storage.get("local"),
+                session,
+                System.currentTimeMillis() + getTtlMillis());
+        SNAPSHOTS.put(cacheKey(user), snapshot);
+        LogUtils.info("Captured session snapshot for user: " + user + " (" + snapshot.cookies.size() + " cookies)");
+    }
+
+    /**
+     * Inject the cached state for the user into the current thread's session.
+     * On CDP drivers this happens before the next navigation; otherwise the driver navigates
+     * to the snapshot origin once.
+     *
+     * @return false if there is no unexpired snapshot for the user
+     */
+    public static boolean restore(String user) {
+        Snapshot snapshot = SNAPSHOTS.get(cacheKey(user));
+        if (snapshot == null || snapshot.expiresAtMillis < System.currentTimeMillis()) {
+            SNAPSHOTS.remove(cacheKey(user));
+            return false;
+        }
+        DriverSession session = DriverManager.getSession();
+        DevTools devTools = session.getDevTools();
+        try {
+            if (devTools != null) {
+                restoreViaDevTools(session, devTools, snapshot);
+            } else {
+                restoreViaNavigation(session.getDriver(), snapshot);
+            }
+            LogUtils.info("Restored session snapshot for user: " + user);
+            return true;
+        } catch (Exception e) {
+            LogUtils.warn("Failed to restore session snapshot for user: " + user, e);
+            return false;
+        }
+    }
+
+    /**
+     * Drop the cached snapshot for the user (e.g. when it no longer authenticates).
+     */
+    public static void invalidate(String user) {
+        if (SNAPSHOTS.remove(cacheKey(user)) != null) {
+            LogUtils.info("Invalidated session snapshot for user: " + user);
+        }
+    }
+
+    /**
+     * Drop the user's snapshot and everything it injected into the current thread's session:
+     * the document-start storage script, cookies, and localStorage/sessionStorage of the current
+     * page's origin. Use when a restored snapshot no longer authenticates, so the state captured
+     * after the next UI login is not the stale one.
+     */
+    public static void discard(String user) {
+        invalidate(user);
+        DriverSession session = DriverManager.getSession();
+        clear(session);
+        WebDriver driver = session.getDriver();
+        driver.manage().deleteAllCookies();
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                    "window.localStorage.clear(); window.sessionStorage.clear();");
+        } catch (Exception e) {
+            LogUtils.warn("Failed to clear storage of discarded session snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Remove any injection script registered on the session, so a reset session starts clean.
+     */
+    static void clear(DriverSession session) {
+        String scriptId = session.getSnapshotScriptId();
+        DevTools devTools = scriptId != null ? session.getDevTools() : null;
+        if (devTools != null) {
+            try {
+                DevToolsSupport.send(devTools, "Page.removeScriptToEvaluateOnNewDocument",
+                        Collections.singletonMap("identifier", scriptId));
+            } catch (Exception e) {
+                LogUtils.warn("Failed to remove session snapshot script: " + e.getMessage());
+            }
+        }
+        session.setSnapshotScriptId(null);
+    }
+
+    private static void restoreViaDevTools(DriverSession session, DevTools devTools, Snapshot snapshot) {
+        clear(session);
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : snapshot.cookies) {
+            Map<String, Object> c = new HashMap<>();
+            c.put("name", cookie.getName());
+            c.put("value", cookie.getValue());
+            c.put("domain", cookie.getDomain());
+            c.put("path", cookie.getPath());
+            c.put("secure", cookie.isSecure());
+            c.put("httpOnly", cookie.isHttpOnly());
+            if (cookie.getExpiry() != null) {
+                c.put("expires", cookie.getExpiry().getTime() / 1000.0);
+            }
+            if (cookie.getSameSite() != null) {
+                c.put("sameSite", cookie.getSameSite());
+            }
+            cookies.add(c);
+        }
+        DevToolsSupport.send(devTools, "Network.enable", Collections.emptyMap());
+        DevToolsSupport.send(devTools, "Network.setCookies", Collections.singletonMap("cookies", cookies));
+        Map<String, Object> result = DevToolsSupport.call(devTools, "Page.addScriptToEvaluateOnNewDocument",
+                Collections.singletonMap("source", storageScript(snapshot)));
+        session.setSnapshotScriptId(String.valueOf(result.get("identifier")));
+    }
+
+    private static void restoreViaNavigation(WebDriver driver, Snapshot snapshot) {
+        driver.get(snapshot.origin);
+        for (Cookie cookie : snapshot.cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(
+                "var l = arguments[0], s = arguments[1];"
+                + "for (var k in l) { window.localStorage.setItem(k, l[k]); }"
+                + "for (var k in s) { window.sessionStorage.setItem(k, s[k]); }",
+                snapshot.localStorage, snapshot.sessionStorage);
+    }
+
+    /**
+     * Document-start script that seeds storage once per tab for the snapshot origin.
+     */
+    private static String storageScript(Snapshot snapshot) {
+        return "(function () {"
+                + " if (location.origin !== " + JSON.toJson(snapshot.origin) + ") { return; }"
+                + " try {"
+                + "  if (window.sessionStorage.getItem('" + MARKER_KEY + "')) { return; }"
+                + "  var l = " + JSON.toJson(snapshot.localStorage) + ", s = " + JSON.toJson(snapshot.sessionStorage) + ";"
+                + "  for (var k in l) { window.localStorage.setItem(k, l[k]); }"
+                + "  for (var k in s) { window.sessionStorage.setItem(k, s[k]); }"
+                + "  window.sessionStorage.setItem('" + MARKER_KEY + "', '1');"
+                + " } catch (e) {}"
+                + "})();";
+    }
+
+    private static final class Snapshot {
+        private final Set<Cookie> cookies;
+        private final String origin;
+        private final Map<String, Object> localStorage;
+        private final Map<String, Object> sessionStorage;
+        private final long expiresAtMillis;
+
+        private Snapshot(Set<Cookie> cookies, String origin, Map<String, Object> localStorage,
+                         Map<String, Object> sessionStorage, long expiresAtMillis) {
+            this.cookies = cookies;
+            this.origin = origin;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
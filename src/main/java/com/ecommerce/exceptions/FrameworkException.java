@@ -8,7 +8,7 @@ import io.qameta.allure.Attachment;
  * <p>
  * Best practices included:
  * - Logging via LogUtils
- * - Allure reporting of exception details and log file
+ * - Allure reporting of exception details; the failed test's log slice is attached by AllureListener
  * - Preserves cause stacktrace
  */
 public class FrameworkException extends RuntimeException {
@@ -16,19 +16,18 @@ public class FrameworkException extends RuntimeException {
 
     /**
      * Constructs a FrameworkException with a message.
-     * Logs the error and attaches logs to Allure.
+     * Logs the error and attaches the stacktrace to Allure.
      * @param message the detail message
      */
     public FrameworkException(String message) {
         super(message);
         LogUtils.error("FrameworkException: " + message);
         attachStackTrace(this);
-        LogUtils.attachLogFile();
     }
 
     /**
      * Constructs a FrameworkException with message and cause.
-     * Logs the error and attaches stacktrace and logs to Allure.
+     * Logs the error and attaches the stacktrace to Allure.
      * @param message the detail message
      * @param cause the cause
      */
@@ -36,7 +35,6 @@ public class FrameworkException extends RuntimeException {
         super(message, cause);
         LogUtils.error("FrameworkException: " + message, cause);
         attachStackTrace(cause != null ? cause : this);
-        LogUtils.attachLogFile();
     }
 
     /**
@@ -1,13 +1,23 @@
 package com.ecommerce.listeners;
 
+import com.ecommerce.drivers.ConsoleCollector;
+import com.ecommerce.drivers.DriverManager;
+import com.ecommerce.drivers.FlightRecorder;
+import com.ecommerce.drivers.NetworkCapture;
+import com.ecommerce.drivers.RequestBlocker;
 import com.ecommerce.reporting.AllureReportManager;
+import com.ecommerce.reporting.ScreenshotService;
+import com.ecommerce.reporting.TimingRecorder;
 import com.ecommerce.utils.LogUtils;
 import com.ecommerce.utils.ScreenshotUtils;
+import com.ecommerce.utils.TestLogBuffer;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 import io.qameta.allure.Attachment;
 
+import java.nio.file.Path;
+
 public class AllureListener implements ITestListener {
 
     @Override
@@ -26,6 +36,29 @@ public class AllureListener implements ITestListener {
         String methodName = result.getMethod().getMethodName();
         LogUtils.info("Test started: " + methodName);
         AllureReportManager.step("Starting test: " + methodName);
+        String testName = result.getTestClass().getRealClass().getSimpleName() + "." + methodName;
+        LogUtils.startTestLog(testName);
+        ScreenshotService.startTest();
+        TimingRecorder.startTest(testName);
+        RequestBlocker blocker = getRequestBlocker();
+        if (blocker != null) {
+            blocker.drain(); // discard counts from setup/previous test
+        }
+        if (DriverManager.isInitialized()) {
+            DriverManager.getSession().getElementCache().drain();
+            FlightRecorder recorder = DriverManager.getSession().getFlightRecorder();
+            if (recorder != null) {
+                recorder.clear(); // record this test only
+            }
+            NetworkCapture capture = DriverManager.getSession().getNetworkCapture();
+            if (capture != null) {
+                capture.clear();
+            }
+            ConsoleCollector console = DriverManager.getSession().getConsoleCollector();
+            if (console != null) {
+                console.clear();
+            }
+        }
     }
 
     @Override
@@ -33,6 +66,8 @@ public class AllureListener implements ITestListener {
         String methodName = result.getMethod().getMethodName();
         LogUtils.info("Test passed: " + methodName);
         AllureReportManager.step("Test passed: " + methodName);
+        attachTestMetrics();
+        attachTestLog(false);
     }
 
     @Override
@@ -43,7 +78,12 @@ public class AllureListener implements ITestListener {
         LogUtils.error("Test failed: " + methodName, cause);
         AllureReportManager.step("Test failed: " + methodName);
         ScreenshotUtils.captureAndSaveScreenshot(methodName);
+        attachFlightRecording();
+        attachHar();
+        attachConsole();
         attachStackTrace(cause);
+        attachTestMetrics();
+        attachTestLog(true);
     }
 
     @Override
@@ -51,6 +91,8 @@ public class AllureListener implements ITestListener {
         String methodName = result.getMethod().getMethodName();
         LogUtils.warn("Test skipped: " + methodName);
         AllureReportManager.step("Test skipped: " + methodName);
+        attachTestMetrics();
+        attachTestLog(false);
     }
 
     @Override
@@ -59,6 +101,82 @@ public class AllureListener implements ITestListener {
         LogUtils.warn("Test failed but within success percentage: " + methodName);
     }
 
+    /**
+     * Attach per-test driver metrics collected on the current thread's session.
+     */
+    private void attachTestMetrics() {
+        RequestBlocker blocker = getRequestBlocker();
+        if (blocker != null) {
+            AllureReportManager.attachText("Blocked Requests", blocker.drain());
+        }
+        String elementCache = DriverManager.isInitialized()
+                ? DriverManager.getSession().getElementCache().drain() : null;
+        if (elementCache != null) {
+            AllureReportManager.attachText("Element Cache", elementCache);
+        }
+        String timings = TimingRecorder.finishTest();
+        if (timings != null) {
+            AllureReportManager.attachText("Command Timings", timings);
+        }
+    }
+
+    /**
+     * Attach the test's log as a single attachment (see log.attach.mode): a failed test gets its
+     * slice streamed from disk, others the in-memory buffer. Ends the test's log slice; slices
+     * that were not attached are deleted.
+     */
+    private void attachTestLog(boolean failed) {
+        String log = TestLogBuffer.drain(failed);
+        Path slice = failed ? LogUtils.getTestLogFile() : null;
+        boolean sliceAttached = log != null && slice != null;
+        if (sliceAttached) {
+            AllureReportManager.attachLog("Test Log", slice);
+        } else if (log != null) {
+            AllureReportManager.attachText("Test Log", log);
+        }
+        LogUtils.endTestLog(sliceAttached);
+    }
+
+    /**
+     * Attach the last seconds of screen leading up to the failure (flight.recorder.enabled).
+     */
+    private void attachFlightRecording() {
+        FlightRecorder recorder = DriverManager.isInitialized() ? DriverManager.getSession().getFlightRecorder() : null;
+        if (recorder == null) {
+            return;
+        }
+        LogUtils.info("Flight recorder: " + recorder.getStats());
+        byte[] gif = recorder.toGif();
+        if (gif != null) {
+            AllureReportManager.attachFlightRecording(gif);
+        }
+    }
+
+    /**
+     * Attach the test's network traffic as HAR (network.capture.enabled).
+     */
+    private void attachHar() {
+        NetworkCapture capture = DriverManager.isInitialized() ? DriverManager.getSession().getNetworkCapture() : null;
+        if (capture != null && capture.size() > 0) {
+            AllureReportManager.attachHar(capture.toHar());
+        }
+    }
+
+    /**
+     * Attach console messages and JavaScript errors streamed during the test (console.capture.enabled).
+     */
+    private void attachConsole() {
+        ConsoleCollector console = DriverManager.isInitialized() ? DriverManager.getSession().getConsoleCollector() : null;
+        String entries = console != null ? console.drain() : "";
+        if (!entries.isEmpty()) {
+            AllureReportManager.attachText("Browser Console Logs", entries);
+        }
+    }
+
+    private RequestBlocker getRequestBlocker() {
+        return DriverManager.isInitialized() ? DriverManager.getSession().getRequestBlocker() : null;
+    }
+
     @Attachment(value = "Stack Trace", type = "text/plain")
     private String attachStackTrace(Throwable throwable) {
         return throwable != null ? throwable.toString() : "No stack trace available";
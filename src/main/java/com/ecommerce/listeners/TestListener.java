@@ -1,10 +1,24 @@
 package com.ecommerce.listeners;
 
+import com.ecommerce.browser.BrowserProfile;
+import com.ecommerce.drivers.DriverPool;
+import com.ecommerce.drivers.DriverPrespawner;
+import com.ecommerce.drivers.DriverRecycler;
+import com.ecommerce.drivers.GridRouter;
+import com.ecommerce.drivers.NetworkCapture;
+import com.ecommerce.drivers.ScriptRegistry;
+import com.ecommerce.reporting.AllureReportManager;
+import com.ecommerce.reporting.ScreenshotService;
+import com.ecommerce.reporting.ScreenshotStore;
+import com.ecommerce.reporting.TimingRecorder;
+import com.ecommerce.utils.AdaptivePolling;
 import com.ecommerce.utils.LogUtils;
-import com.ecommerce.utils.ScreenshotUtils;
+import com.ecommerce.utils.PageObjectFactory;
 import io.qameta.allure.Allure;
 import org.testng.*;
+import org.testng.xml.XmlTest;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 public class TestListener implements ITestListener, ISuiteListener {
@@ -12,11 +26,68 @@ public class TestListener implements ITestListener, ISuiteListener {
     @Override
     public void onStart(ISuite suite) {
         LogUtils.info("Test Suite started: " + suite.getName());
+        if (DriverPrespawner.isEnabled()) {
+            prespawnDrivers(suite);
+        }
     }
 
     @Override
     public void onFinish(ISuite suite) {
         LogUtils.info("Test Suite finished: " + suite.getName());
+        if (DriverPool.isEnabled()) {
+            String stats = DriverPool.getStats();
+            LogUtils.info("Driver pool stats: " + stats);
+            AllureReportManager.attachText("Driver Pool Stats", stats);
+            DriverPool.shutdown();
+        }
+        if (DriverPrespawner.isEnabled()) {
+            DriverPrespawner.shutdown();
+        }
+        if (DriverRecycler.isEnabled()) {
+            LogUtils.info("Driver sessions recycled: " + DriverRecycler.getRecycleCount());
+        }
+        if (GridRouter.isConfigured()) {
+            String gridStats = GridRouter.getStats();
+            LogUtils.info("Selenium Grid endpoint stats:" + System.lineSeparator() + gridStats);
+            AllureReportManager.attachText("Selenium Grid Endpoints", gridStats);
+        }
+        String pollStats = AdaptivePolling.getStats();
+        if (!pollStats.isEmpty()) {
+            LogUtils.info("Wait polling stats:" + System.lineSeparator() + pollStats);
+            AllureReportManager.attachText("Wait Polling Stats", pollStats);
+        }
+        AdaptivePolling.save();
+        String scriptStats = ScriptRegistry.getStats();
+        if (!scriptStats.isEmpty()) {
+            LogUtils.info("Pinned script stats: " + scriptStats);
+            AllureReportManager.attachText("Pinned Script Stats", scriptStats);
+        }
+        String pageStats = PageObjectFactory.getStats();
+        if (!pageStats.isEmpty()) {
+            LogUtils.info("Page object init stats: " + pageStats);
+            AllureReportManager.attachText("Page Object Init Stats", pageStats);
+        }
+        String timingReport = TimingRecorder.getSuiteReport();
+        if (!timingReport.isEmpty()) {
+            LogUtils.info("Command timing report:" + System.lineSeparator() + timingReport);
+            AllureReportManager.attachText("Command Timing Report", timingReport);
+        }
+        String endpointReport = NetworkCapture.getSuiteReport();
+        if (!endpointReport.isEmpty()) {
+            LogUtils.info("Network endpoint report:" + System.lineSeparator() + endpointReport);
+            AllureReportManager.attachText("Slowest Endpoints", endpointReport);
+        }
+        ScreenshotService.awaitPending(Duration.ofSeconds(30));
+        String screenshotStats = ScreenshotService.getStats();
+        if (!screenshotStats.isEmpty()) {
+            LogUtils.info("Screenshot stats: " + screenshotStats);
+            AllureReportManager.attachText("Screenshot Stats", screenshotStats);
+        }
+        String storeStats = ScreenshotStore.getStats();
+        if (!storeStats.isEmpty()) {
+            LogUtils.info("Screenshot store stats: " + storeStats);
+            AllureReportManager.attachText("Screenshot Store Stats", storeStats);
+        }
         Allure.addAttachment("Final Logs", "See complete logs in the attached report.");
         LogUtils.attachLogFile(); // Attach complete log file to Allure
     }
@@ -34,7 +105,7 @@ public class TestListener implements ITestListener, ISuiteListener {
     @Override
     public void onTestFailure(ITestResult result) {
         LogUtils.error("Test Failed: " + getTestMethodName(result), result.getThrowable());
-        ScreenshotUtils.captureAndSaveScreenshot(getTestMethodName(result)); // capture and attach to allure
+        // screenshot is captured once by AllureListener
     }
 
     @Override
@@ -57,6 +128,25 @@ public class TestListener implements ITestListener, ISuiteListener {
         LogUtils.info("Test Context finished: " + context.getName());
     }
 
+    /**
+     * Pre-spawn one session per test class, per browser and profile, capped at the suite thread-count.
+     */
+    private void prespawnDrivers(ISuite suite) {
+        int remaining = suite.getXmlSuite().getThreadCount();
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            if (remaining <= 0) {
+                break;
+            }
+            String browser = test.getParameter("browser");
+            // same default as BaseTest.setUpClass @Optional
+            browser = browser != null ? browser.toLowerCase() : "chrome";
+            String profile = BrowserProfile.resolve(test.getParameter("profile"), test.getParameter("headless"));
+            int sessions = Math.min(Math.max(test.getXmlClasses().size(), 1), remaining);
+            DriverPrespawner.prespawn(browser, profile, sessions);
+            remaining -= sessions;
+        }
+    }
+
     private String getTestMethodName(ITestResult result) {
         return result.getMethod().getMethodName() + getParameters(result);
     }
@@ -1,5 +1,39 @@
 package com.ecommerce.pages;
 
-public class CheckoutPage {
+import com.ecommerce.utils.CachedElement;
+import com.ecommerce.utils.WebElementUtils;
+import io.qameta.allure.Step;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CheckoutPage extends WebElementUtils {
+
+    private static final By FIRST_NAME = By.id("first-name");
+    private static final By LAST_NAME = By.id("last-name");
+    private static final By POSTAL_CODE = By.id("postal-code");
+
+    @CachedElement
+    @FindBy(id = "continue")
+    private WebElement continueButton;
+
+    /**
+     * Fills the checkout information form in a single script execution.
+     */
+    @Step("Entering checkout information for {firstName} {lastName}")
+    public void enterShippingInformation(String firstName, String lastName, String postalCode) {
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(FIRST_NAME, firstName);
+        values.put(LAST_NAME, lastName);
+        values.put(POSTAL_CODE, postalCode);
+        fillForm(values);
+    }
+
+    @Step("Continuing checkout")
+    public void continueCheckout() {
+        click(continueButton);
+    }
 }
@@ -1,5 +1,40 @@
 package com.ecommerce.pages;
 
-public class LoginPage {
+import com.ecommerce.drivers.ScriptRegistry;
+import com.ecommerce.utils.CachedElement;
+import com.ecommerce.utils.WebElementUtils;
+import io.qameta.allure.Step;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
 
+public class LoginPage extends WebElementUtils {
+
+    private static final String LOGIN_FORM_PRESENT_SCRIPT = "return !!document.getElementById('login-button');";
+
+    @CachedElement
+    @FindBy(id = "user-name")
+    private WebElement usernameInput;
+
+    @CachedElement
+    @FindBy(id = "password")
+    private WebElement passwordInput;
+
+    @CachedElement
+    @FindBy(id = "login-button")
+    private WebElement loginButton;
+
+    @Step("Logging in as {username}")
+    public void login(String username, String password) {
+        sendKeys(usernameInput, username);
+        sendKeys(passwordInput, password);
+        click(loginButton);
+    }
+
+    /**
+     * Checked with a script rather than the @FindBy proxy so a logged-in page
+     * does not wait out the implicit wait.
+     */
+    public boolean isLoginFormDisplayed() {
+        return Boolean.TRUE.equals(ScriptRegistry.execute(LOGIN_FORM_PRESENT_SCRIPT));
+    }
 }
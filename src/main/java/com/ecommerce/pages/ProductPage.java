@@ -1,5 +1,43 @@
 package com.ecommerce.pages;
 
-public class ProductPage {
+import com.ecommerce.utils.WaitUtils;
+import com.ecommerce.utils.WebElementUtils;
+import io.qameta.allure.Step;
+import org.openqa.selenium.By;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProductPage extends WebElementUtils {
+
+    private static final By PRODUCT_ROW = By.cssSelector(".inventory_item");
+    private static final Map<String, String> PRODUCT_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        PRODUCT_COLUMNS.put("name", ".inventory_item_name");
+        PRODUCT_COLUMNS.put("description", ".inventory_item_desc");
+        PRODUCT_COLUMNS.put("price", ".inventory_item_price");
+        PRODUCT_COLUMNS.put("image", "img@src");
+        PRODUCT_COLUMNS.put("button", "button@id");
+    }
+
+    /**
+     * Reads the whole product grid in one script call.
+     *
+     * @return one row per product with name, description, price, image and button
+     */
+    @Step("Reading product listing")
+    public List<Map<String, String>> getProducts() {
+        WaitUtils.forPresence(PRODUCT_ROW);
+        return readRows(PRODUCT_ROW, PRODUCT_COLUMNS);
+    }
+
+    /**
+     * @return product prices in display order, e.g. for sort assertions
+     */
+    public List<BigDecimal> getPrices() {
+        return parsePrices(getProducts(), "price");
+    }
 }
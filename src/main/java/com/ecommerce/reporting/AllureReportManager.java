@@ -3,22 +3,28 @@ package com.ecommerce.reporting;
 import com.ecommerce.utils.ConfigReader;
 import com.ecommerce.utils.LogUtils;
 import com.ecommerce.constants.AppConstants;
+import com.ecommerce.drivers.ConsoleCollector;
 import com.ecommerce.drivers.DriverManager;
 import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogEntry;
 import org.openqa.selenium.logging.LogType;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Date;
 import java.util.Properties;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * AllureReportManager handles the configuration and attachments for Allure reporting.
@@ -26,10 +32,20 @@ import java.util.Properties;
  * Best practices included:
  * - Static initialization of environment properties
  * - Reusable attachment methods (screenshots, logs, page source, text)
+ * - Log files are streamed from disk, tail-capped and gzip-compressed when large
  * - Thread-safe, final class with private constructor
  */
 public final class AllureReportManager {
 
+    private static final long DEFAULT_LOG_ATTACH_MAX_KB = 5120;
+    private static final long DEFAULT_LOG_ATTACH_GZIP_KB = 256;
+    private static final long LOG_ATTACH_MAX_BYTES = 1024 * (ConfigReader.containsKey(AppConstants.KEY_LOG_ATTACH_MAX_KB)
+            ? ConfigReader.getLong(AppConstants.KEY_LOG_ATTACH_MAX_KB)
+            : DEFAULT_LOG_ATTACH_MAX_KB);
+    private static final long LOG_ATTACH_GZIP_BYTES = 1024 * (ConfigReader.containsKey(AppConstants.KEY_LOG_ATTACH_GZIP_KB)
+            ? ConfigReader.getLong(AppConstants.KEY_LOG_ATTACH_GZIP_KB)
+            : DEFAULT_LOG_ATTACH_GZIP_KB);
+
     static {
         writeEnvironmentProperties();
     }
@@ -69,38 +85,95 @@ public final class AllureReportManager {
         return screenshotBytes;
     }
 
-    @Attachment(value = "Log File", type = "text/plain")
-    public static byte[] attachLogFile() {
+    /**
+     * Attaches the complete log file, streamed and capped (see attachLog).
+     */
+    public static void attachLogFile() {
         String logPath = ConfigReader.containsKey(AppConstants.KEY_LOG_FILE_PATH)
                 ? ConfigReader.get(AppConstants.KEY_LOG_FILE_PATH)
                 : "logs/app.log";
+        attachLog("Log File", Path.of(logPath));
+    }
 
+    /**
+     * Attaches a log file streamed from disk, without reading it into memory.
+     * Only the last log.attach.max.kb are kept (a marker says how much was cut), and anything
+     * above log.attach.gzip.kb is attached gzip-compressed.
+     *
+     * @param name attachment name
+     * @param path log file; nothing is attached if it does not exist
+     */
+    public static void attachLog(String name, Path path) {
+        if (path == null || !Files.isRegularFile(path)) {
+            return;
+        }
         try {
-            Path path = Path.of(logPath);
-            return Files.readAllBytes(path);
+            long size = Files.size(path);
+            long skip = Math.max(0, size - LOG_ATTACH_MAX_BYTES);
+            if (size - skip <= LOG_ATTACH_GZIP_BYTES) {
+                try (InputStream in = openTail(path, skip)) {
+                    Allure.addAttachment(name, "text/plain", in, "log");
+                }
+                return;
+            }
+            Path compressed = Files.createTempFile("allure-log-", ".log.gz");
+            try {
+                try (InputStream in = openTail(path, skip);
+                     OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+                    in.transferTo(out);
+                }
+                try (InputStream in = Files.newInputStream(compressed)) {
+                    Allure.addAttachment(name + " (gzip)", "application/gzip", in, "log.gz");
+                }
+            } finally {
+                Files.deleteIfExists(compressed);
+            }
         } catch (IOException e) {
-            LogUtils.error("Failed to attach log file to Allure report", e);
-            return new byte[0];
+            LogUtils.error("Failed to attach log " + path + " to Allure report", e);
         }
+    }
+
+    private static InputStream openTail(Path path, long skip) throws IOException {
+        if (skip == 0) {
+            return Files.newInputStream(path);
         }
-    
-    
-    
+        SeekableByteChannel channel = Files.newByteChannel(path).position(skip);
+        String marker = "----- first " + skip + " bytes cut, log.attach.max.kb="
+                + LOG_ATTACH_MAX_BYTES / 1024 + " -----" + System.lineSeparator();
+        return new SequenceInputStream(new ByteArrayInputStream(marker.getBytes(StandardCharsets.UTF_8)),
+                Channels.newInputStream(channel));
+    }
 
     /**
      * Attaches a screenshot to Allure report.
      *
      * @param methodName the test method name or custom label
-     * @return byte array of the screenshot
+     * @return SHA-256 the screenshot is stored under, or null if not captured
      */
-    @Attachment(value = "Screenshot - {methodName}", type = "image/png")
-    public static byte[] attachScreenshot(String methodName) {
-        try {
-            return ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.BYTES);
-        } catch (Exception e) {
-            System.err.println("Failed to capture screenshot: " + e.getMessage());
-            return new byte[0];
-        }
+    public static String attachScreenshot(String methodName) {
+        return ScreenshotService.capture(methodName);
+    }
+
+    /**
+     * Attaches captured network traffic as a HAR file (open with browser devtools or a HAR viewer).
+     *
+     * @param har HAR 1.2 JSON (NetworkCapture.toHar)
+     * @return the HAR bytes
+     */
+    @Attachment(value = "Network (HAR)", type = "application/json", fileExtension = ".har")
+    public static byte[] attachHar(String har) {
+        return har.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Attaches the flight recorder's last seconds of screen as an animated GIF.
+     *
+     * @param gif encoded frames (FlightRecorder.toGif)
+     * @return the GIF bytes
+     */
+    @Attachment(value = "Flight Recorder", type = "image/gif", fileExtension = ".gif")
+    public static byte[] attachFlightRecording(byte[] gif) {
+        return gif;
     }
 
     /**
@@ -119,12 +192,18 @@ public final class AllureReportManager {
     }
 
     /**
-     * Attaches browser console logs to Allure report.
+     * Attaches browser console logs to Allure report: the entries streamed by the session's
+     * ConsoleCollector since the test started, or the driver's LogType.BROWSER log without one.
      *
-     * @return concatenated console logs as a String
+     * @return console logs as a String
      */
     @Attachment(value = "Browser Console Logs", type = "text/plain")
     public static String attachConsoleLogs() {
+        ConsoleCollector console = DriverManager.isInitialized()
+                ? DriverManager.getSession().getConsoleCollector() : null;
+        if (console != null) {
+            return console.drain();
+        }
         try {
             LogEntries logEntries = DriverManager.getDriver()
                     .manage()
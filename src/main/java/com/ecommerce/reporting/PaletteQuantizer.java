@@ -0,0 +1,273 @@
+package com.ecommerce.reporting;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reduces an RGB image to at most 256 colours for the "palette" screenshot variant.
+ * <p>
+ * Best practices:
+ * - Median-cut palette over a 5-bit-per-channel histogram, so gradients get their share of entries
+ * - An entry takes the exact colour most of its pixels have (flat UI backgrounds, text), otherwise
+ *   their mean; exact flat colours leave no error to dither into noise
+ * - Floyd-Steinberg dithering when mapping pixels, so remaining gradients do not band
+ */
+final class PaletteQuantizer {
+    private static final int MAX_COLOURS = 256;
+    private static final int BITS = 5;
+    private static final int SHIFT = 8 - BITS;
+    private static final int SIDE = 1 << BITS;
+
+    private PaletteQuantizer() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @param rgb image to reduce
+     * @return TYPE_BYTE_INDEXED copy with a palette built from the image
+     */
+    static BufferedImage quantize(BufferedImage rgb) {
+        int width = rgb.getWidth();
+        int height = rgb.getHeight();
+        int[] pixels = rgb.getRGB(0, 0, width, height, null, 0, width);
+
+        long[] count = new long[SIDE * SIDE * SIDE];
+        long[] sumR = new long[count.length];
+        long[] sumG = new long[count.length];
+        long[] sumB = new long[count.length];
+        // per-bin majority vote (Boyer-Moore), verified in a second pass
+        int[] candidate = new int[count.length];
+        long[] votes = new long[count.length];
+        for (int p : pixels) {
+            int rgbValue = p & 0xffffff;
+            int r = rgbValue >> 16;
+            int g = (rgbValue >> 8) & 0xff;
+            int b = rgbValue & 0xff;
+            int bin = binOf(r, g, b);
+            count[bin]++;
+            sumR[bin] += r;
+            sumG[bin] += g;
+            sumB[bin] += b;
+            if (votes[bin] == 0) {
+                candidate[bin] = rgbValue;
+                votes[bin] = 1;
+            } else {
+                votes[bin] += candidate[bin] == rgbValue ? 1 : -1;
+            }
+        }
+        Arrays.fill(votes, 0);
+        for (int p : pixels) {
+            int rgbValue = p & 0xffffff;
+            int bin = binOf(rgbValue >> 16, (rgbValue >> 8) & 0xff, rgbValue & 0xff);
+            if (candidate[bin] == rgbValue) {
+                votes[bin]++;
+            }
+        }
+        int[] palette = medianCut(count, sumR, sumG, sumB, candidate, votes);
+
+        byte[] reds = new byte[palette.length];
+        byte[] greens = new byte[palette.length];
+        byte[] blues = new byte[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            reds[i] = (byte) (palette[i] >> 16);
+            greens[i] = (byte) (palette[i] >> 8);
+            blues[i] = (byte) palette[i];
+        }
+        BufferedImage indexed = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED,
+                new IndexColorModel(8, palette.length, reds, greens, blues));
+        dither(pixels, width, height, palette, indexed);
+        return indexed;
+    }
+
+    private static int binOf(int r, int g, int b) {
+        return ((r >> SHIFT) << (2 * BITS)) | ((g >> SHIFT) << BITS) | (b >> SHIFT);
+    }
+
+    private static int channel(int bin, int channel) {
+        return (bin >> ((2 - channel) * BITS)) & (SIDE - 1);
+    }
+
+    /**
+     * Repeatedly split the box holding the most pixels along its widest channel at the pixel median.
+     *
+     * @param candidate per-bin majority colour candidate
+     * @param votes     per-bin pixel count of that candidate
+     * @return palette colours as 0xRRGGBB
+     */
+    private static int[] medianCut(long[] count, long[] sumR, long[] sumG, long[] sumB,
+                                   int[] candidate, long[] votes) {
+        int[] bins = new int[count.length];
+        int used = 0;
+        for (int bin = 0; bin < count.length; bin++) {
+            if (count[bin] > 0) {
+                bins[used++] = bin;
+            }
+        }
+        List<Box> boxes = new ArrayList<>();
+        boxes.add(new Box(0, used, pixelsIn(bins, 0, used, count)));
+        while (boxes.size() < MAX_COLOURS) {
+            Box largest = null;
+            for (Box box : boxes) {
+                if (box.to - box.from > 1 && (largest == null || box.pixels > largest.pixels)) {
+                    largest = box;
+                }
+            }
+            if (largest == null) {
+                break; // every box is a single histogram bin
+            }
+            int split = split(bins, largest, count);
+            boxes.remove(largest);
+            boxes.add(new Box(largest.from, split, pixelsIn(bins, largest.from, split, count)));
+            boxes.add(new Box(split, largest.to, pixelsIn(bins, split, largest.to, count)));
+        }
+
+        int[] palette = new int[Math.max(1, boxes.size())];
+        for (int i = 0; i < boxes.size(); i++) {
+            Box box = boxes.get(i);
+            long n = 0;
+            long r = 0;
+            long g = 0;
+            long b = 0;
+            int majorityBin = -1;
+            for (int j = box.from; j < box.to; j++) {
+                int bin = bins[j];
+                n += count[bin];
+                r += sumR[bin];
+                g += sumG[bin];
+                b += sumB[bin];
+                if (majorityBin < 0 || votes[bin] > votes[majorityBin]) {
+                    majorityBin = bin;
+                }
+            }
+            if (majorityBin >= 0 && votes[majorityBin] * 2 > n) {
+                palette[i] = candidate[majorityBin];
+            } else {
+                palette[i] = n == 0 ? 0 : (int) (r / n) << 16 | (int) (g / n) << 8 | (int) (b / n);
+            }
+        }
+        return palette;
+    }
+
+    /**
+     * Sort the box's bins along its widest channel and return the index of the first bin of the upper half.
+     */
+    private static int split(int[] bins, Box box, long[] count) {
+        int widestChannel = 0;
+        int widestRange = -1;
+        for (int c = 0; c < 3; c++) {
+            int min = SIDE;
+            int max = -1;
+            for (int j = box.from; j < box.to; j++) {
+                int v = channel(bins[j], c);
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            if (max - min > widestRange) {
+                widestRange = max - min;
+                widestChannel = c;
+            }
+        }
+        long[] keyed = new long[box.to - box.from];
+        for (int j = box.from; j < box.to; j++) {
+            keyed[j - box.from] = ((long) channel(bins[j], widestChannel) << 32) | bins[j];
+        }
+        Arrays.sort(keyed);
+        for (int j = box.from; j < box.to; j++) {
+            bins[j] = (int) keyed[j - box.from];
+        }
+        long seen = 0;
+        for (int j = box.from; j < box.to - 1; j++) {
+            seen += count[bins[j]];
+            if (seen * 2 >= box.pixels) {
+                return j + 1;
+            }
+        }
+        return box.to - 1;
+    }
+
+    private static long pixelsIn(int[] bins, int from, int to, long[] count) {
+        long pixels = 0;
+        for (int j = from; j < to; j++) {
+            pixels += count[bins[j]];
+        }
+        return pixels;
+    }
+
+    /**
+     * Map every pixel to its nearest palette entry, diffusing the error Floyd-Steinberg style.
+     */
+    private static void dither(int[] pixels, int width, int height, int[] palette, BufferedImage indexed) {
+        int[] nearest = new int[SIDE * SIDE * SIDE];
+        Arrays.fill(nearest, -1);
+        // error rows are padded by one pixel on each side, three channels per pixel
+        float[] errors = new float[(width + 2) * 3];
+        float[] nextErrors = new float[(width + 2) * 3];
+        byte[] row = new byte[width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int p = pixels[y * width + x];
+                int e = (x + 1) * 3;
+                int r = clamp(((p >> 16) & 0xff) + errors[e]);
+                int g = clamp(((p >> 8) & 0xff) + errors[e + 1]);
+                int b = clamp((p & 0xff) + errors[e + 2]);
+                int bin = binOf(r, g, b);
+                if (nearest[bin] < 0) {
+                    nearest[bin] = nearestEntry(palette, r, g, b);
+                }
+                int index = nearest[bin];
+                row[x] = (byte) index;
+                int c = palette[index];
+                diffuse(errors, nextErrors, e, r - ((c >> 16) & 0xff));
+                diffuse(errors, nextErrors, e + 1, g - ((c >> 8) & 0xff));
+                diffuse(errors, nextErrors, e + 2, b - (c & 0xff));
+            }
+            indexed.getRaster().setDataElements(0, y, width, 1, row);
+            float[] done = errors;
+            errors = nextErrors;
+            nextErrors = done;
+            Arrays.fill(nextErrors, 0f);
+        }
+    }
+
+    private static void diffuse(float[] errors, float[] nextErrors, int i, int error) {
+        errors[i + 3] += error * 7 / 16f;
+        nextErrors[i - 3] += error * 3 / 16f;
+        nextErrors[i] += error * 5 / 16f;
+        nextErrors[i + 3] += error / 16f;
+    }
+
+    private static int clamp(float value) {
+        return Math.max(0, Math.min(255, Math.round(value)));
+    }
+
+    private static int nearestEntry(int[] palette, int r, int g, int b) {
+        int best = 0;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < palette.length; i++) {
+            int dr = ((palette[i] >> 16) & 0xff) - r;
+            int dg = ((palette[i] >> 8) & 0xff) - g;
+            int db = (palette[i] & 0xff) - b;
+            int distance = dr * dr + dg * dg + db * db;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static final class Box {
+        private final int from;
+        private final int to;
+        private final long pixels;
+
+        private Box(int from, int to, long pixels) {
+            this.from = from;
+            this.to = to;
+            this.pixels = pixels;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.ecommerce.reporting;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.drivers.DriverManager;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebElement;
+
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single entry point for screenshots: the browser is grabbed once per call on the test thread,
+ * and the disk write (ScreenshotStore) and Allure attachment run on a bounded background executor.
+ * <p>
+ * Best practices:
+ * - Captures identical (same SHA-256) to one already taken in the current test are skipped;
+ *   every test still gets its own image attachment, only the disk copy is shared
+ * - The Allure attachment is registered on the test thread (so it lands on the right test) and
+ *   its content written in the background; its name carries the sha256 of the stored image
+ * - screenshot.async.threads workers, screenshot.async.queue pending jobs; when the queue is
+ *   full the test thread does the write itself instead of dropping the screenshot
+ * - awaitPending at suite end, before the results are read; getStats reports the savings
+ */
+public final class ScreenshotService {
+    private static final int DEFAULT_THREADS = 2;
+    private static final int DEFAULT_QUEUE = 32;
+
+    private static final ThreadLocal<Set<String>> SEEN = ThreadLocal.withInitial(HashSet::new);
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private static final AtomicLong GRABS = new AtomicLong();
+    private static final AtomicLong CAPTURED = new AtomicLong();
+    private static final AtomicLong DUPLICATES = new AtomicLong();
+    private static final AtomicLong WRITES = new AtomicLong();
+    private static final AtomicLong FAILED = new AtomicLong();
+    private static final AtomicLong GRAB_NANOS = new AtomicLong();
+    private static final AtomicLong WRITE_NANOS = new AtomicLong();
+
+    private ScreenshotService() {
+        // Prevent instantiation
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = ConfigReader.containsKey(AppConstants.KEY_SCREENSHOT_ASYNC_THREADS)
+                ? (int) ConfigReader.getLong(AppConstants.KEY_SCREENSHOT_ASYNC_THREADS)
+                : DEFAULT_THREADS;
+        int queue = ConfigReader.containsKey(AppConstants.KEY_SCREENSHOT_ASYNC_QUEUE)
+                ? (int) ConfigReader.getLong(AppConstants.KEY_SCREENSHOT_ASYNC_QUEUE)
+                : DEFAULT_QUEUE;
+        AtomicInteger threadId = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue), r -> {
+                    Thread t = new Thread(r, "screenshot-writer-" + threadId.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Forget the captures of the previous test on this thread (called on test start).
+     */
+    public static void startTest() {
+        SEEN.remove();
+    }
+
+    /**
+     * Grab the current browser viewport once and hand it to the store and the report in the background.
+     *
+     * @param name attachment name, e.g. the test method or "click_failure"
+     * @return SHA-256 the image is stored under, or null if nothing was captured or it was a duplicate
+     */
+    public static String capture(String name) {
+        return capture(name, (TakesScreenshot) DriverManager.getDriver());
+    }
+
+    /**
+     * Like capture, cropped to one element (WebElement screenshot).
+     */
+    public static String captureElement(String name, WebElement element) {
+        return capture(name, element);
+    }
+
+    private static String capture(String name, TakesScreenshot source) {
+        byte[] screenshot;
+        long start = System.nanoTime();
+        GRABS.incrementAndGet();
+        try {
+            screenshot = source.getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            FAILED.incrementAndGet();
+            LogUtils.error("Failed to capture screenshot for: " + name, e);
+            return null;
+        } finally {
+            GRAB_NANOS.addAndGet(System.nanoTime() - start);
+        }
+        CAPTURED.incrementAndGet();
+        String hash = sha256(screenshot);
+        if (!SEEN.get().add(hash)) {
+            DUPLICATES.incrementAndGet();
+            LogUtils.debug("Skipped duplicate screenshot for: {}", name);
+            return null;
+        }
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String attachment = lifecycle.prepareAttachment(ScreenshotStore.attachmentName(name, hash),
+                ScreenshotStore.reportType(), ScreenshotStore.reportExtension());
+        EXECUTOR.execute(() -> write(name, hash, screenshot, lifecycle, attachment));
+        return hash;
+    }
+
+    private static void write(String name, String hash, byte[] screenshot, AllureLifecycle lifecycle, String attachment) {
+        long start = System.nanoTime();
+        try {
+            byte[] report = ScreenshotStore.store(name, hash, screenshot);
+            lifecycle.writeAttachment(attachment, new ByteArrayInputStream(report));
+            ScreenshotStore.reported(report.length);
+            LogUtils.info("Stored screenshot {} as {}", name, ScreenshotStore.reference(hash));
+        } catch (Exception e) {
+            FAILED.incrementAndGet();
+            LogUtils.error("Failed to write screenshot " + name, e);
+        } finally {
+            WRITE_NANOS.addAndGet(System.nanoTime() - start);
+            WRITES.incrementAndGet();
+        }
+    }
+
+    /**
+     * Wait until queued writes are done (suite end).
+     *
+     * @return true if the queue drained within the timeout
+     */
+    public static boolean awaitPending(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (EXECUTOR.getActiveCount() > 0 || !EXECUTOR.getQueue().isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                LogUtils.warn("Screenshot writes still pending after {}", timeout);
+                return false;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return captures, duplicates skipped, failures and average grab vs. background write time
+     */
+    public static String getStats() {
+        long captured = CAPTURED.get();
+        if (captured == 0) {
+            return "";
+        }
+        long written = WRITES.get();
+        return String.format("captured=%d duplicatesSkipped=%d failed=%d avgGrabMs=%.1f avgBackgroundWriteMs=%.1f%n",
+                captured, DUPLICATES.get(), FAILED.get(),
+                GRAB_NANOS.get() / 1e6 / GRABS.get(),
+                written > 0 ? WRITE_NANOS.get() / 1e6 / written : 0.0);
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.ecommerce.reporting;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.utils.ConfigReader;
+import com.ecommerce.utils.LogUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressable screenshot store: each distinct image is written once as
+ * &lt;screenshot.path&gt;/&lt;sha256&gt;.png, however many tests capture it.
+ * <p>
+ * Best practices:
+ * - screenshot.store.variant.width &gt; 0 also writes a smaller &lt;sha256&gt;-w&lt;width&gt; variant
+ *   (format png, palette = 256-colour indexed PNG via PaletteQuantizer, or jpg) and attaches it
+ *   instead of the original
+ * - Disk is deduplicated across the suite; the report is not, so every test that captures an
+ *   image has a viewable attachment of it (the variant keeps those small)
+ * - index.csv in the store maps timestamp and screenshot name to the hash
+ * - Disk and report bytes written and saved are reported per suite (getStats)
+ */
+public final class ScreenshotStore {
+    private static final int DEFAULT_VARIANT_WIDTH = 1280;
+    private static final String DEFAULT_VARIANT_FORMAT = "png";
+
+    private static final Path DIR = Paths.get(ConfigReader.containsKey(AppConstants.KEY_SCREENSHOT_PATH)
+            ? ConfigReader.get(AppConstants.KEY_SCREENSHOT_PATH)
+            : "screenshots");
+    private static final int VARIANT_WIDTH = ConfigReader.containsKey(AppConstants.KEY_SCREENSHOT_VARIANT_WIDTH)
+            ? (int) ConfigReader.getLong(AppConstants.KEY_SCREENSHOT_VARIANT_WIDTH)
+            : DEFAULT_VARIANT_WIDTH;
+    private static final String VARIANT_FORMAT = ConfigReader.containsKey(AppConstants.KEY_SCREENSHOT_VARIANT_FORMAT)
+            ? ConfigReader.get(AppConstants.KEY_SCREENSHOT_VARIANT_FORMAT).toLowerCase()
+            : DEFAULT_VARIANT_FORMAT;
+
+    private static final Object INDEX_LOCK = new Object();
+
+    private static final AtomicLong IMAGES = new AtomicLong();
+    private static final AtomicLong STORED = new AtomicLong();
+    private static final AtomicLong CAPTURED_BYTES = new AtomicLong();
+    private static final AtomicLong DISK_BYTES = new AtomicLong();
+    private static final AtomicLong REPORT_BYTES = new AtomicLong();
+
+    private ScreenshotStore() {
+        // Prevent instantiation
+    }
+
+    private static boolean hasVariant() {
+        return VARIANT_WIDTH > 0;
+    }
+
+    private static boolean isJpeg() {
+        return hasVariant() && "jpg".equals(VARIANT_FORMAT);
+    }
+
+    /**
+     * @return MIME type of the image attached to the report
+     */
+    static String reportType() {
+        return isJpeg() ? "image/jpeg" : "image/png";
+    }
+
+    static String reportExtension() {
+        return isJpeg() ? "jpg" : "png";
+    }
+
+    /**
+     * @return reference to a stored image, as shown in the report
+     */
+    static String reference(String hash) {
+        return "sha256:" + hash + " (" + original(hash) + ")";
+    }
+
+    /**
+     * @return report attachment name for a screenshot, carrying the hash of its stored image
+     */
+    static String attachmentName(String name, String hash) {
+        return "Screenshot - " + name + " [sha256:" + hash + "]";
+    }
+
+    /**
+     * Write the image (and its variant) unless the store already has it, and index the capture.
+     *
+     * @return bytes to attach for the image: its variant when configured, otherwise the original
+     */
+    static byte[] store(String name, String hash, byte[] png) throws IOException {
+        IMAGES.incrementAndGet();
+        CAPTURED_BYTES.addAndGet(png.length);
+        Files.createDirectories(DIR);
+        byte[] report = png;
+        if (!Files.exists(original(hash))) {
+            writeIfAbsent(original(hash), png);
+            byte[] variant = hasVariant() ? encodeVariant(png) : png;
+            if (variant != png) {
+                writeIfAbsent(variant(hash), variant);
+                report = variant;
+            }
+            STORED.incrementAndGet();
+        } else if (hasVariant() && Files.exists(variant(hash))) {
+            report = Files.readAllBytes(variant(hash));
+        }
+        String line = LocalDateTime.now() + "," + name.replace(',', ' ') + "," + hash + System.lineSeparator();
+        synchronized (INDEX_LOCK) {
+            Files.write(DIR.resolve("index.csv"), line.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return report;
+    }
+
+    /**
+     * Count bytes written to the report for an image.
+     */
+    static void reported(long bytes) {
+        REPORT_BYTES.addAndGet(bytes);
+    }
+
+    private static void writeIfAbsent(Path path, byte[] data) throws IOException {
+        try {
+            Files.write(path, data, StandardOpenOption.CREATE_NEW);
+            DISK_BYTES.addAndGet(data.length);
+        } catch (FileAlreadyExistsException e) {
+            // stored concurrently by another worker; same content
+        }
+    }
+
+    /**
+     * @return path of the full-resolution image stored under a hash
+     */
+    public static Path pathOf(String hash) {
+        return original(hash);
+    }
+
+    private static Path original(String hash) {
+        return DIR.resolve(hash + ".png");
+    }
+
+    private static Path variant(String hash) {
+        return DIR.resolve(hash + "-w" + VARIANT_WIDTH + "." + reportExtension());
+    }
+
+    /**
+     * Downscale to the variant width and re-encode. PNG variants that come out larger than
+     * the original (already small images) are not kept; the original is returned instead.
+     */
+    private static byte[] encodeVariant(byte[] png) {
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+            if (source == null) {
+                return png;
+            }
+            int width = Math.min(source.getWidth(), VARIANT_WIDTH);
+            int height = Math.max(1, (int) ((long) source.getHeight() * width / source.getWidth()));
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = scaled.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+            g.dispose();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+            ImageIO.write("palette".equals(VARIANT_FORMAT) ? PaletteQuantizer.quantize(scaled) : scaled,
+                    reportExtension(), out);
+            byte[] encoded = out.toByteArray();
+            return isJpeg() || encoded.length < png.length ? encoded : png;
+        } catch (IOException e) {
+            LogUtils.warn("Could not encode screenshot variant, using original: " + e.getMessage());
+            return png;
+        }
+    }
+
+    /**
+     * @return images captured vs. distinct images stored, and disk/report bytes against the
+     *         full-resolution size every capture would otherwise have taken
+     */
+    public static String getStats() {
+        long images = IMAGES.get();
+        if (images == 0) {
+            return "";
+        }
+        long captured = CAPTURED_BYTES.get();
+        return String.format("images=%d distinctStored=%d diskBytes=%d reportBytes=%d "
+                        + "fullResolutionBytes=%d diskSaved=%d reportSaved=%d%n",
+                images, STORED.get(), DISK_BYTES.get(), REPORT_BYTES.get(),
+                captured, captured - DISK_BYTES.get(), captured - REPORT_BYTES.get());
+    }
+}
@@ -0,0 +1,248 @@
+package com.ecommerce.reporting;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.utils.ConfigReader;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the latency of every WebDriver command (via SessionListener) and every WaitUtils
+ * wait, tagged with locator, page and test.
+ * <p>
+ * Best practices:
+ * - Per-test aggregates live in a ThreadLocal (no locking on the hot path) and are attached per test
+ * - Suite-wide aggregates: slowest locators, waits that hit their timeout, round-trips per test
+ * - Disabled with timing.enabled=false; overhead is two nanoTime calls and a map update per command
+ */
+public final class TimingRecorder {
+    private static final boolean ENABLED = !ConfigReader.containsKey(AppConstants.KEY_TIMING_ENABLED)
+            || Boolean.parseBoolean(ConfigReader.get(AppConstants.KEY_TIMING_ENABLED));
+    private static final int DEFAULT_REPORT_TOP = 20;
+    private static final int MAX_TIMEOUT_RECORDS = 200;
+    private static final String NO_TEST = "(outside test)";
+
+    private static final ThreadLocal<TestTimings> CURRENT = ThreadLocal.withInitial(() -> new TestTimings(NO_TEST));
+    private static final Map<String, Stat> LOCATORS = new ConcurrentHashMap<>();
+    private static final Map<String, long[]> TESTS = new ConcurrentHashMap<>();
+    private static final ConcurrentLinkedQueue<String> TIMEOUTS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger TIMEOUT_COUNT = new AtomicInteger();
+
+    private TimingRecorder() {
+        // Prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Start collecting for a test on the current thread; anything recorded before is discarded.
+     */
+    public static void startTest(String testName) {
+        if (ENABLED) {
+            CURRENT.set(new TestTimings(testName));
+        }
+    }
+
+    /**
+     * Stop collecting for the current thread's test and fold it into the suite aggregates.
+     * @return per-test summary for the Allure attachment, or null if nothing was recorded
+     */
+    public static String finishTest() {
+        if (!ENABLED) {
+            return null;
+        }
+        TestTimings test = CURRENT.get();
+        CURRENT.remove();
+        if (test.roundTrips == 0 && test.waits.isEmpty()) {
+            return null;
+        }
+        TESTS.merge(test.name, new long[]{test.roundTrips, test.commandNanos},
+                (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+        return test.summary();
+    }
+
+    /**
+     * Remember the page subsequent records belong to (path of the last loaded URL).
+     */
+    public static void setPage(String url) {
+        if (ENABLED && url != null) {
+            int query = url.indexOf('?');
+            CURRENT.get().page = query < 0 ? url : url.substring(0, query);
+        }
+    }
+
+    /**
+     * Locator part of a WebElement description, without driver or session ids:
+     * "[[ChromeDriver: chrome on linux (id)] -> id: user-name]" -> "id: user-name".
+     * Command timings (SessionListener) and learned wait latencies (WaitUtils) both key
+     * elements with it.
+     *
+     * @param element WebElement (or any object whose description to reduce)
+     * @return the locator, or the whole description if it has none
+     */
+    public static String locatorOf(Object element) {
+        String description = String.valueOf(element);
+        int arrow = description.indexOf(" -> ");
+        if (arrow < 0) {
+            return description;
+        }
+        String locator = description.substring(arrow + 4);
+        return locator.endsWith("]") ? locator.substring(0, locator.length() - 1) : locator;
+    }
+
+    /**
+     * Record one WebDriver command (one wire round-trip).
+     *
+     * @param command WebDriver/WebElement method name
+     * @param locator locator of the element involved, or null
+     * @param nanos   latency
+     */
+    public static void recordCommand(String command, String locator, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        TestTimings test = CURRENT.get();
+        test.roundTrips++;
+        test.commandNanos += nanos;
+        test.commands.computeIfAbsent(command, k -> new Stat()).add(nanos);
+        if (locator != null) {
+            LOCATORS.computeIfAbsent(locator, k -> new Stat()).add(nanos, test.name, test.page);
+        }
+    }
+
+    /**
+     * Record one WaitUtils wait.
+     *
+     * @param key      condition and locator waited for
+     * @param nanos    time spent waiting
+     * @param timedOut true if the wait hit its timeout
+     */
+    public static void recordWait(String key, long nanos, boolean timedOut) {
+        if (!ENABLED) {
+            return;
+        }
+        TestTimings test = CURRENT.get();
+        test.waits.computeIfAbsent(key, k -> new Stat()).add(nanos);
+        if (timedOut) {
+            test.timeouts++;
+            if (TIMEOUT_COUNT.incrementAndGet() <= MAX_TIMEOUT_RECORDS) {
+                TIMEOUTS.add(String.format("%s after %dms in %s on %s", key,
+                        TimeUnit.NANOSECONDS.toMillis(nanos), test.name, test.page));
+            }
+        }
+    }
+
+    /**
+     * Build the suite-level report: slowest locators, waits that timed out, round-trips per test.
+     */
+    public static String getSuiteReport() {
+        if (!ENABLED || (LOCATORS.isEmpty() && TESTS.isEmpty())) {
+            return "";
+        }
+        int top = ConfigReader.containsKey(AppConstants.KEY_TIMING_REPORT_TOP)
+                ? (int) ConfigReader.getLong(AppConstants.KEY_TIMING_REPORT_TOP)
+                : DEFAULT_REPORT_TOP;
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder("Slowest locators (total command time):").append(nl);
+        List<Map.Entry<String, Stat>> locators = new ArrayList<>(LOCATORS.entrySet());
+        locators.sort(Comparator.comparingLong((Map.Entry<String, Stat> e) -> e.getValue().totalNanos.get()).reversed());
+        for (Map.Entry<String, Stat> entry : locators.subList(0, Math.min(top, locators.size()))) {
+            Stat s = entry.getValue();
+            sb.append(String.format("  %s calls=%d totalMs=%d avgMs=%.1f maxMs=%d (max in %s on %s)%n",
+                    entry.getKey(), s.count.get(), toMillis(s.totalNanos.get()), s.avgMillis(),
+                    toMillis(s.maxNanos.get()), s.maxTest, s.maxPage));
+        }
+        sb.append(nl).append("Waits that hit their timeout: ").append(TIMEOUT_COUNT.get()).append(nl);
+        TIMEOUTS.forEach(t -> sb.append("  ").append(t).append(nl));
+        sb.append(nl).append("Round-trips per test:").append(nl);
+        List<Map.Entry<String, long[]>> tests = new ArrayList<>(TESTS.entrySet());
+        tests.sort(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed());
+        long total = 0;
+        for (Map.Entry<String, long[]> entry : tests) {
+            total += entry.getValue()[0];
+            sb.append(String.format("  %s roundTrips=%d commandMs=%d%n",
+                    entry.getKey(), entry.getValue()[0], toMillis(entry.getValue()[1])));
+        }
+        sb.append("  total roundTrips=").append(total).append(nl);
+        return sb.toString();
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Single-thread aggregates of one test.
+     */
+    private static final class TestTimings {
+        private final String name;
+        private final Map<String, Stat> commands = new HashMap<>();
+        private final Map<String, Stat> waits = new HashMap<>();
+        private String page = "(no page)";
+        private long roundTrips;
+        private long commandNanos;
+        private int timeouts;
+
+        private TestTimings(String name) {
+            this.name = name;
+        }
+
+        private String summary() {
+            String nl = System.lineSeparator();
+            StringBuilder sb = new StringBuilder()
+                    .append("Round-trips: ").append(roundTrips)
+                    .append(", command time: ").append(toMillis(commandNanos)).append("ms")
+                    .append(", wait timeouts: ").append(timeouts).append(nl).append(nl)
+                    .append("Commands:").append(nl);
+            append(sb, commands);
+            sb.append(nl).append("Waits:").append(nl);
+            append(sb, waits);
+            return sb.toString();
+        }
+
+        private static void append(StringBuilder sb, Map<String, Stat> stats) {
+            stats.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, Stat> e) -> e.getValue().totalNanos.get()).reversed())
+                    .forEach(e -> sb.append(String.format("  %s count=%d totalMs=%d avgMs=%.1f maxMs=%d%n",
+                            e.getKey(), e.getValue().count.get(), toMillis(e.getValue().totalNanos.get()),
+                            e.getValue().avgMillis(), toMillis(e.getValue().maxNanos.get()))));
+        }
+    }
+
+    private static final class Stat {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private volatile String maxTest;
+        private volatile String maxPage;
+
+        private void add(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private void add(long nanos, String test, String page) {
+            add(nanos);
+            if (maxNanos.get() == nanos) {
+                maxTest = test;
+                maxPage = page;
+            }
+        }
+
+        private double avgMillis() {
+            long n = count.get();
+            return n == 0 ? 0.0 : totalNanos.get() / 1_000_000.0 / n;
+        }
+    }
+}
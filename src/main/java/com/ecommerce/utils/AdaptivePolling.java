@@ -0,0 +1,227 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.constants.AppConstants;
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive polling for WaitUtils: polls quickly, backs off exponentially, and starts from the
+ * readiness latency learned for each locator or page condition.
+ * <p>
+ * Best practices:
+ * - Enabled via wait.adaptive.enabled; polling.interval stays the upper bound for a single poll
+ * - First sleep is the learned latency for the key, later sleeps double from wait.adaptive.min.ms;
+ *   every sleep is capped by polling.interval and by the time left before the wait times out
+ * - Learned latencies persist in wait.latency.file between runs (outside target/, so mvn clean keeps them)
+ * - Per-key stats (polls, overshoot past readiness) for the suite report, in fixed mode too
+ */
+public final class AdaptivePolling {
+    private static final long DEFAULT_MIN_POLL_MS = 50;
+    private static final String DEFAULT_LATENCY_FILE = ".cache/wait-latency.properties";
+    private static final int BACKOFF_FACTOR = 2;
+    /** Weight of the newest observation in the learned latency (exponential moving average). */
+    private static final double LEARNING_RATE = 0.3;
+
+    private static final Map<String, Long> LEARNED_MS = new ConcurrentHashMap<>();
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
+
+    private AdaptivePolling() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @return true unless wait.adaptive.enabled=false
+     */
+    public static boolean isEnabled() {
+        return !ConfigReader.containsKey(AppConstants.KEY_WAIT_ADAPTIVE_ENABLED)
+                || Boolean.parseBoolean(ConfigReader.get(AppConstants.KEY_WAIT_ADAPTIVE_ENABLED));
+    }
+
+    private static long getMinPollMillis() {
+        return ConfigReader.containsKey(AppConstants.KEY_WAIT_ADAPTIVE_MIN_MS)
+                ? ConfigReader.getLong(AppConstants.KEY_WAIT_ADAPTIVE_MIN_MS)
+                : DEFAULT_MIN_POLL_MS;
+    }
+
+    private static Path getLatencyFile() {
+        return Paths.get(ConfigReader.containsKey(AppConstants.KEY_WAIT_LATENCY_FILE)
+                ? ConfigReader.get(AppConstants.KEY_WAIT_LATENCY_FILE)
+                : DEFAULT_LATENCY_FILE);
+    }
+
+    /**
+     * Start tracking one wait.
+     *
+     * @param key         locator or condition description the latency is learned for
+     * @param maxPoll     upper bound for a single backoff sleep (polling.interval)
+     * @param timeout     the wait's timeout; no sleep runs past it
+     * @return Sleeper to hand to the FluentWait/WebDriverWait; call ready() or timedOut() afterwards
+     */
+    static Tracker start(String key, Duration maxPoll, Duration timeout) {
+        load();
+        return new Tracker(key, maxPoll.toMillis(), timeout.toNanos(), isEnabled());
+    }
+
+    private static void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (AdaptivePolling.class) {
+            if (loaded) {
+                return;
+            }
+            Path file = getLatencyFile();
+            if (Files.exists(file)) {
+                Properties props = new Properties();
+                try (InputStream in = Files.newInputStream(file)) {
+                    props.load(in);
+                    for (String key : props.stringPropertyNames()) {
+                        LEARNED_MS.put(key, Long.parseLong(props.getProperty(key)));
+                    }
+                    LogUtils.debug("Loaded " + LEARNED_MS.size() + " learned wait latencies from " + file);
+                } catch (IOException | NumberFormatException e) {
+                    LogUtils.warn("Ignoring unreadable wait latency file " + file + ": " + e.getMessage());
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    /**
+     * Persist the learned latencies so the next run starts from them.
+     */
+    public static synchronized void save() {
+        if (LEARNED_MS.isEmpty()) {
+            return;
+        }
+        Path file = getLatencyFile();
+        Properties props = new Properties();
+        LEARNED_MS.forEach((key, millis) -> props.setProperty(key, String.valueOf(millis)));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                props.store(out, "Learned wait readiness latencies (ms) per locator/condition");
+            }
+        } catch (IOException e) {
+            LogUtils.warn("Failed to save wait latency file " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return one line per key, most overshoot first: waits, polls, timeouts, learned latency and
+     * the time spent past readiness (upper bound: the last sleep before the successful poll)
+     */
+    public static String getStats() {
+        List<Map.Entry<String, Stats>> entries = new ArrayList<>(STATS.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Stats> e) -> e.getValue().overshootMs.get()).reversed());
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Stats> entry : entries) {
+            Stats s = entry.getValue();
+            long waits = s.waits.get();
+            sb.append(String.format("%s waits=%d polls=%d avgPolls=%.1f timeouts=%d learnedMs=%d overshootMs=%d%n",
+                    entry.getKey(), waits, s.polls.get(), waits == 0 ? 0.0 : (double) s.polls.get() / waits,
+                    s.timeouts.get(), LEARNED_MS.getOrDefault(entry.getKey(), 0L), s.overshootMs.get()));
+        }
+        return sb.toString();
+    }
+
+    private static void learn(String key, long readyMs) {
+        LEARNED_MS.merge(key, readyMs, (old, now) -> Math.round(old + LEARNING_RATE * (now - old)));
+    }
+
+    /**
+     * Sleeper for a single wait; counts polls and computes the adaptive backoff.
+     */
+    static final class Tracker implements Sleeper {
+        private final String key;
+        private final long maxPollMs;
+        private final boolean adaptive;
+        private final long startNanos = System.nanoTime();
+        private final long deadlineNanos;
+        private int polls = 1;
+        private long lastSleepMs;
+        private long nextSleepMs;
+
+        private Tracker(String key, long maxPollMs, long timeoutNanos, boolean adaptive) {
+            this.key = key;
+            this.maxPollMs = maxPollMs;
+            this.deadlineNanos = startNanos + timeoutNanos;
+            this.adaptive = adaptive;
+            // land the second poll on the typical readiness time, if one has been learned
+            this.nextSleepMs = clamp(Math.max(getMinPollMillis(), LEARNED_MS.getOrDefault(key, 0L)));
+        }
+
+        /**
+         * @return millis capped by polling.interval and by the time left before the wait's timeout
+         */
+        private long clamp(long millis) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            return Math.max(0, Math.min(millis, Math.min(maxPollMs, remainingMs)));
+        }
+
+        @Override
+        public void sleep(Duration interval) throws InterruptedException {
+            long millis = clamp(adaptive ? nextSleepMs : interval.toMillis());
+            TimeUnit.MILLISECONDS.sleep(millis);
+            lastSleepMs = millis;
+            polls++;
+            if (adaptive) {
+                nextSleepMs = polls == 2
+                        ? getMinPollMillis()
+                        : Math.min(maxPollMs, Math.max(getMinPollMillis(), millis * BACKOFF_FACTOR));
+            }
+        }
+
+        /**
+         * The condition held on the last poll.
+         */
+        void ready() {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            // readiness happened somewhere during the last sleep; assume its midpoint
+            learn(key, Math.max(0, elapsedMs - lastSleepMs / 2));
+            Stats stats = stats();
+            stats.polls.addAndGet(polls);
+            stats.overshootMs.addAndGet(lastSleepMs);
+        }
+
+        /**
+         * The wait timed out; nothing is learned.
+         */
+        void timedOut() {
+            Stats stats = stats();
+            stats.polls.addAndGet(polls);
+            stats.timeouts.incrementAndGet();
+        }
+
+        private Stats stats() {
+            Stats stats = STATS.computeIfAbsent(key, k -> new Stats());
+            stats.waits.incrementAndGet();
+            return stats;
+        }
+    }
+
+    private static final class Stats {
+        private final AtomicLong waits = new AtomicLong();
+        private final AtomicLong polls = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong overshootMs = new AtomicLong();
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a page-object WebElement field (next to its @FindBy) into the session's ElementCache,
+ * like @CacheLookup: the element is found once per page and re-found only when it goes stale,
+ * instead of a findElement round-trip on every access (see PageObjectFactory).
+ * <p>
+ * Use it for elements that stay in the DOM while the page is shown (form fields, static
+ * buttons); leave it off for elements that are re-rendered constantly.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface CachedElement {
+}
@@ -39,7 +39,7 @@ public final class ConfigReader {
 
     @Step("Loading environment-specific configuration for env={}")
     private static void loadEnvProperties() {
-        String env = System.getProperty("env", DEFAULT_ENV).toLowerCase();
+        String env = getEnv();
         String path = BASE_CONFIG_PATH + env + ".properties";
         try (InputStream in = new FileInputStream(path)) {
             envProperties.load(in);
@@ -64,6 +64,13 @@ public final class ConfigReader {
         return value.trim();
     }
 
+    /**
+     * @return active environment name (from -Denv, default dev)
+     */
+    public static String getEnv() {
+        return System.getProperty("env", DEFAULT_ENV).toLowerCase();
+    }
+
     @Step("Getting long config property: {key}")
     public static long getLong(String key) {
         try {
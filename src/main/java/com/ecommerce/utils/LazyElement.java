@@ -0,0 +1,191 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.drivers.DriverManager;
+import com.ecommerce.drivers.ElementCache;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Element handle created by PageObjectFactory in place of a PageFactory proxy.
+ * <p>
+ * Stateless apart from its locator: it resolves against the current thread's driver on every
+ * call, so one handle per page-object field is shared by all instances of the page class.
+ * Cached handles (@CachedElement, @CacheLookup) resolve through the session's ElementCache and
+ * re-find once when the cached element went stale.
+ */
+final class LazyElement implements WebElement, WrapsElement, Locatable {
+    private final By by;
+    private final boolean cached;
+
+    LazyElement(By by, boolean cached) {
+        this.by = by;
+        this.cached = cached;
+    }
+
+    private WebElement resolve() {
+        if (cached) {
+            return DriverManager.getSession().getElementCache().get(by, DriverManager.getDriver()::findElement);
+        }
+        return DriverManager.getDriver().findElement(by);
+    }
+
+    private <T> T call(Function<WebElement, T> action) {
+        WebElement element = resolve();
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException e) {
+            if (!cached) {
+                throw e;
+            }
+            ElementCache cache = DriverManager.getSession().getElementCache();
+            cache.revalidate(by);
+            return action.apply(resolve());
+        }
+    }
+
+    private void run(Consumer<WebElement> action) {
+        call(element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return resolve();
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return call(element -> ((Locatable) element).getCoordinates());
+    }
+
+    @Override
+    public void click() {
+        run(WebElement::click);
+    }
+
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(element -> element.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(element -> element.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(element -> element.getDomAttribute(name));
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return call(element -> element.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(element -> element.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(element -> element.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(element -> element.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+        return call(element -> element.getScreenshotAs(target));
+    }
+
+    @Override
+    public String toString() {
+        return (cached ? "Cached lazy element for: " : "Lazy element for: ") + by;
+    }
+}
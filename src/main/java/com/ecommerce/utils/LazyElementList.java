@@ -0,0 +1,89 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.drivers.DriverManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * List handle created by PageObjectFactory for {@code List<WebElement>} fields.
+ * Each operation runs one findElements against the current thread's driver, like the
+ * PageFactory list proxy; iterate or copy it once instead of calling get(i) in a loop.
+ */
+final class LazyElementList extends AbstractList<WebElement> {
+    private final By by;
+
+    LazyElementList(By by) {
+        this.by = by;
+    }
+
+    private List<WebElement> resolve() {
+        return DriverManager.getDriver().findElements(by);
+    }
+
+    @Override
+    public WebElement get(int index) {
+        return resolve().get(index);
+    }
+
+    @Override
+    public int size() {
+        return resolve().size();
+    }
+
+    @Override
+    public Iterator<WebElement> iterator() {
+        return resolve().iterator();
+    }
+
+    @Override
+    public ListIterator<WebElement> listIterator(int index) {
+        return resolve().listIterator(index);
+    }
+
+    @Override
+    public Spliterator<WebElement> spliterator() {
+        return resolve().spliterator();
+    }
+
+    @Override
+    public void forEach(Consumer<? super WebElement> action) {
+        resolve().forEach(action);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return resolve().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return resolve().toArray(a);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return resolve().isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy element list for: " + by;
+    }
+}
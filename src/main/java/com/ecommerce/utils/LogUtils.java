@@ -2,8 +2,17 @@ package com.ecommerce.utils;
 
 import com.ecommerce.constants.AppConstants;
 import com.ecommerce.constants.TimeConstants;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.FileAppender;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import com.ecommerce.reporting.AllureReportManager;
 import io.qameta.allure.Attachment;
 
 import java.io.IOException;
@@ -11,13 +20,19 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * LogUtils provides thread-safe logging utilities:
- * - Console & file logging via Log4j2
- * - Allure attachments for log entries and full log file
+ * - Console & file logging via Log4j2, without a global lock
+ * - Supplier and {} parameterized overloads that skip formatting when the level is disabled
+ * - Per-test log buffer (TestLogBuffer) attached once per test, plus the full log file
+ * - Per-test log slices on disk (ThreadContext testLogId + Routing appender in log4j2.xml)
  * - Hybrid configuration: defaults via constants, overrides via ConfigReader
  */
 public final class LogUtils {
@@ -32,52 +47,147 @@ public final class LogUtils {
                     ? ConfigReader.get(AppConstants.KEY_LOG_TIMESTAMP_PATTERN)
                     : TimeConstants.TIMESTAMP_PATTERN);
 
+    /** ThreadContext key the PerTestFile routing appender splits on. */
+    private static final String TEST_LOG_KEY = "testLogId";
+    private static final String TEST_LOG_APPENDER = "PerTestFile";
+    private static final AtomicLong TEST_LOG_SEQ = new AtomicLong();
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final ThreadLocal<TimestampCache> TIMESTAMP = ThreadLocal.withInitial(TimestampCache::new);
+
     private LogUtils() {
         // Prevent instantiation
     }
 
-    public static synchronized void info(String message) {
-        String entry = format("INFO", message);
-        logger.info(message);
-        attachLogEntry(entry);
+    // -------- INFO --------
+
+    public static void info(String message) {
+        if (logger.isInfoEnabled()) {
+            log(Level.INFO, message, null);
+        }
+    }
+
+    /**
+     * @param message built only if INFO is enabled
+     */
+    public static void info(Supplier<String> message) {
+        if (logger.isInfoEnabled()) {
+            log(Level.INFO, message.get(), null);
+        }
+    }
+
+    /**
+     * @param pattern message with {} placeholders, formatted only if INFO is enabled
+     */
+    public static void info(String pattern, Object... params) {
+        if (logger.isInfoEnabled()) {
+            log(Level.INFO, ParameterizedMessage.format(pattern, params), null);
+        }
+    }
+
+    // -------- DEBUG --------
+
+    public static void debug(String message) {
+        if (logger.isDebugEnabled()) {
+            log(Level.DEBUG, message, null);
+        }
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            log(Level.DEBUG, message.get(), null);
+        }
+    }
+
+    public static void debug(String pattern, Object... params) {
+        if (logger.isDebugEnabled()) {
+            log(Level.DEBUG, ParameterizedMessage.format(pattern, params), null);
+        }
+    }
+
+    // -------- WARN --------
+
+    public static void warn(String message) {
+        if (logger.isWarnEnabled()) {
+            log(Level.WARN, message, null);
+        }
+    }
+
+    public static void warn(String message, Throwable t) {
+        if (logger.isWarnEnabled()) {
+            log(Level.WARN, message, t);
+        }
+    }
+
+    public static void warn(Supplier<String> message) {
+        if (logger.isWarnEnabled()) {
+            log(Level.WARN, message.get(), null);
+        }
+    }
+
+    public static void warn(String pattern, Object... params) {
+        if (logger.isWarnEnabled()) {
+            log(Level.WARN, ParameterizedMessage.format(pattern, params), null);
+        }
     }
 
-    public static synchronized void debug(String message) {
-        String entry = format("DEBUG", message);
-        logger.debug(message);
-        attachLogEntry(entry);
+    // -------- ERROR --------
+
+    public static void error(String message) {
+        if (logger.isErrorEnabled()) {
+            log(Level.ERROR, message, null);
+        }
     }
 
-    public static synchronized void warn(String message) {
-        String entry = format("WARN", message);
-        logger.warn(message);
-        attachLogEntry(entry);
+    public static void error(String message, Throwable t) {
+        if (logger.isErrorEnabled()) {
+            log(Level.ERROR, message, t);
+        }
     }
 
-    public static synchronized void warn(String message, Throwable t) {
-        String stack = getStackTrace(t);
-        String entry = format("WARN", message + "\n" + stack);
-        logger.warn(message, t);
-        attachLogEntry(entry);
+    public static void error(Supplier<String> message) {
+        if (logger.isErrorEnabled()) {
+            log(Level.ERROR, message.get(), null);
+        }
+    }
+
+    public static void error(String pattern, Object... params) {
+        if (logger.isErrorEnabled()) {
+            log(Level.ERROR, ParameterizedMessage.format(pattern, params), null);
+        }
     }
 
-    public static synchronized void error(String message) {
-        String entry = format("ERROR", message);
-        logger.error(message);
-        attachLogEntry(entry);
+    /**
+     * Log to Log4j2 and the per-test buffer. No shared lock: Log4j2 appenders are thread-safe
+     * and the buffer is per thread.
+     */
+    private static void log(Level level, String message, Throwable t) {
+        logger.log(level, message, t);
+        if (TestLogBuffer.isEnabled()) {
+            TestLogBuffer.append(format(level, t == null ? message : message + "\n" + getStackTrace(t)));
+        }
     }
 
-    public static synchronized void error(String message, Throwable t) {
-        String stack = getStackTrace(t);
-        String entry = format("ERROR", message + "\n" + stack);
-        logger.error(message, t);
-        attachLogEntry(entry);
+    private static String format(Level level, String message) {
+        return new StringBuilder(String.valueOf(message).length() + 64)
+                .append(timestamp())
+                .append(" [").append(Thread.currentThread().getName()).append("] ")
+                .append(level.name()).append(" - ")
+                .append(message)
+                .toString();
     }
 
-    private static String format(String level, String message) {
-        String time = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String thread = Thread.currentThread().getName();
-        return String.format("%s [%s] %s - %s", time, thread, level, message);
+    /**
+     * Timestamp formatted at most once per millisecond per thread.
+     */
+    private static String timestamp() {
+        long now = System.currentTimeMillis();
+        TimestampCache cache = TIMESTAMP.get();
+        if (now != cache.millis) {
+            cache.millis = now;
+            cache.text = TIMESTAMP_FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZONE));
+        }
+        return cache.text;
     }
 
     private static String getStackTrace(Throwable t) {
@@ -86,8 +196,14 @@ public final class LogUtils {
         return sw.toString();
     }
 
+    private static final class TimestampCache {
+        private long millis = -1;
+        private String text;
+    }
+
     /**
      * Public hook to attach a single log entry into the Allure report.
+     * Regular log calls go to the per-test TestLogBuffer instead.
      */
     @Attachment(value = "Log Entry", type = "text/plain")
     public static String attachLogEntry(String entry) {
@@ -95,16 +211,67 @@ public final class LogUtils {
     }
 
     /**
-     * Attach the entire log file (as bytes) into the Allure report.
+     * Attach the log file into the Allure report, streamed from disk and capped
+     * (see AllureReportManager.attachLog).
      */
-    @Attachment(value = "Complete Log File", type = "text/plain")
-    public static byte[] attachLogFile() {
-        try {
-            Path path = Path.of(LOG_FILE_PATH);
-            return Files.readAllBytes(path);
-        } catch (IOException e) {
-            logger.error("Unable to read log file for attachment", e);
-            return new byte[0];
+    public static void attachLogFile() {
+        AllureReportManager.attachLog("Complete Log File", Path.of(LOG_FILE_PATH));
+    }
+
+    // -------- PER-TEST SLICES --------
+
+    /**
+     * Route the current thread's log lines to a file of their own until endTestLog.
+     *
+     * @param testName e.g. Class.method; made file-name safe and suffixed to stay unique
+     */
+    public static void startTestLog(String testName) {
+        ThreadContext.put(TEST_LOG_KEY,
+                testName.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + TEST_LOG_SEQ.incrementAndGet());
+    }
+
+    /**
+     * @return the current test's log slice, or null outside a test or without the routing appender
+     */
+    public static Path getTestLogFile() {
+        String id = ThreadContext.get(TEST_LOG_KEY);
+        RoutingAppender routing = getTestLogAppender();
+        if (id == null || routing == null) {
+            return null;
+        }
+        AppenderControl control = routing.getAppenders().get(id);
+        Appender appender = control != null ? control.getAppender() : null;
+        return appender instanceof FileAppender ? Path.of(((FileAppender) appender).getFileName()) : null;
+    }
+
+    /**
+     * Stop routing the current thread's lines to its test slice and close the slice file.
+     *
+     * @param keepFile false deletes the slice (it was not attached), so passing tests leave no files behind
+     */
+    public static void endTestLog(boolean keepFile) {
+        Path slice = keepFile ? null : getTestLogFile();
+        String id = ThreadContext.get(TEST_LOG_KEY);
+        ThreadContext.remove(TEST_LOG_KEY);
+        RoutingAppender routing = getTestLogAppender();
+        if (id != null && routing != null) {
+            routing.deleteAppender(id);
+        }
+        if (slice != null) {
+            try {
+                Files.deleteIfExists(slice);
+            } catch (IOException e) {
+                warn("Could not delete test log slice " + slice + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static RoutingAppender getTestLogAppender() {
+        Object context = LogManager.getContext(false);
+        if (!(context instanceof LoggerContext)) {
+            return null;
         }
+        Appender appender = ((LoggerContext) context).getConfiguration().getAppender(TEST_LOG_APPENDER);
+        return appender instanceof RoutingAppender ? (RoutingAppender) appender : null;
     }
 }
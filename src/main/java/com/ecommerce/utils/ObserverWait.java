@@ -0,0 +1,151 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.drivers.DriverManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+
+/**
+ * Event-driven waits: a MutationObserver installed with executeAsyncScript resolves in the
+ * browser the moment the condition holds, instead of polling over the wire.
+ * <p>
+ * Used by WaitUtils when wait.mode=event. Returns null whenever the event path cannot be used
+ * (unsupported locator, stale element, navigation, script error) so callers fall back to polling.
+ */
+final class ObserverWait {
+
+    /** Upper bound for one executeAsyncScript call, kept below the default 30s script timeout. */
+    private static final long MAX_CHUNK_MS = 10_000;
+
+    private static final String SCRIPT =
+            "var kind = arguments[0], sel = arguments[1], cond = arguments[2], text = arguments[3],"
+            + " timeout = arguments[4], done = arguments[arguments.length - 1];"
+            + "function find() {"
+            + "  switch (kind) {"
+            + "    case 'element': return sel && sel.isConnected ? sel : null;"
+            + "    case 'id': return document.getElementById(sel);"
+            + "    case 'css': return document.querySelector(sel);"
+            + "    case 'name': return document.getElementsByName(sel)[0] || null;"
+            + "    case 'className': return document.getElementsByClassName(sel)[0] || null;"
+            + "    case 'tagName': return document.getElementsByTagName(sel)[0] || null;"
+            + "    case 'xpath': return document.evaluate(sel, document, null,"
+            + "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "function visible(e) {"
+            + "  if (!e || e.getClientRects().length === 0) { return false; }"
+            + "  var s = window.getComputedStyle(e);"
+            + "  return s.visibility !== 'hidden' && parseFloat(s.opacity) !== 0;"
+            + "}"
+            + "function check() {"
+            + "  var e = find();"
+            + "  switch (cond) {"
+            + "    case 'present': return e;"
+            + "    case 'visible': return visible(e) ? e : null;"
+            + "    case 'clickable': return visible(e) && !e.disabled ? e : null;"
+            + "    case 'text': return e && (e.innerText || e.textContent || '').indexOf(text) >= 0 ? e : null;"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "var first = check();"
+            + "if (first) { done(first); return; }"
+            + "var finished = false, observer, timer, ticker;"
+            + "function finish(result) {"
+            + "  if (finished) { return; }"
+            + "  finished = true; observer.disconnect(); clearTimeout(timer); clearInterval(ticker);"
+            + "  done(result);"
+            + "}"
+            + "function onChange() { var e = check(); if (e) { finish(e); } }"
+            + "observer = new MutationObserver(onChange);"
+            + "observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });"
+            // CSS transitions and layout changes do not always produce mutations
+            + "ticker = setInterval(onChange, 100);"
+            + "timer = setTimeout(function () { finish(null); }, timeout);";
+
+    private ObserverWait() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Wait for the condition on a located element.
+     *
+     * @param target    By locator or WebElement
+     * @param condition present, visible, clickable or text
+     * @param text      expected text for the text condition, else null
+     * @param timeout   overall timeout
+     * @return the element once the condition holds, or null if the event path is unavailable
+     * @throws TimeoutException if the condition does not hold within the timeout
+     */
+    static WebElement until(Object target, String condition, String text, Duration timeout) {
+        String kind;
+        Object selector;
+        if (target instanceof WebElement) {
+            kind = "element";
+            selector = target;
+        } else {
+            String[] parsed = parse((By) target);
+            if (parsed == null) {
+                return null;
+            }
+            kind = parsed[0];
+            selector = parsed[1];
+        }
+        JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        try {
+            while (true) {
+                long remaining = deadline - System.currentTimeMillis();
+                long chunk = Math.max(0, Math.min(remaining, MAX_CHUNK_MS));
+                Object result = js.executeAsyncScript(SCRIPT, kind, selector, condition, text, chunk);
+                if (result instanceof WebElement) {
+                    return (WebElement) result;
+                }
+                if (remaining <= MAX_CHUNK_MS) {
+                    throw new TimeoutException("Expected condition '" + condition + "' for " + target
+                            + " not met within " + timeout.getSeconds() + "s");
+                }
+            }
+        } catch (TimeoutException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // navigation, stale element, CSP or driver without async script support
+            LogUtils.debug("Event wait unavailable, falling back to polling: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Translate a standard By into a locator the page script understands.
+     * @return {kind, selector}, or null for locators without a DOM equivalent (link text, chained, ...)
+     */
+    static String[] parse(By by) {
+        String description = by.toString();
+        int colon = description.indexOf(": ");
+        if (colon < 0) {
+            return null;
+        }
+        String type = description.substring(0, colon);
+        String value = description.substring(colon + 2);
+        switch (type) {
+            case "By.id":
+                return new String[]{"id", value};
+            case "By.cssSelector":
+                return new String[]{"css", value};
+            case "By.xpath":
+                return new String[]{"xpath", value};
+            case "By.name":
+                return new String[]{"name", value};
+            case "By.className":
+                return new String[]{"className", value};
+            case "By.tagName":
+                return new String[]{"tagName", value};
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.constants.AppConstants;
+import com.ecommerce.drivers.DriverManager;
+import com.ecommerce.exceptions.FrameworkException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.CacheLookup;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Initializes page-object element fields without per-instance reflection or dynamic proxies.
+ * <p>
+ * Best practices:
+ * - Field and locator metadata is built once per page class (same rules as PageFactory:
+ *   WebElement fields, and List&lt;WebElement&gt; fields with @FindBy/@FindBys/@FindAll)
+ * - Fields are bound to shared, stateless LazyElement/LazyElementList handles through cached
+ *   MethodHandle setters, so a new page instance allocates nothing for its elements
+ * - @CachedElement and @CacheLookup fields resolve through the session's ElementCache
+ * - page.factory=pagefactory switches back to PageFactory.initElements for comparison; both
+ *   modes record construction time and allocation (see getStats)
+ */
+public final class PageObjectFactory {
+
+    private static final ClassValue<List<Binding>> BINDINGS = new ClassValue<List<Binding>>() {
+        @Override
+        protected List<Binding> computeValue(Class<?> type) {
+            return buildBindings(type);
+        }
+    };
+
+    private static final AtomicLong INSTANCES = new AtomicLong();
+    private static final AtomicLong CLASSES = new AtomicLong();
+    private static final AtomicLong INIT_NANOS = new AtomicLong();
+    private static final AtomicLong INIT_BYTES = new AtomicLong();
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private PageObjectFactory() {
+        // Prevent instantiation
+    }
+
+    private static boolean usePageFactory() {
+        return ConfigReader.containsKey(AppConstants.KEY_PAGE_FACTORY)
+                && "pagefactory".equalsIgnoreCase(ConfigReader.get(AppConstants.KEY_PAGE_FACTORY));
+    }
+
+    /**
+     * Bind the element fields of a page object (declared on its class and superclasses).
+     */
+    public static void initElements(Object page) {
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        if (usePageFactory()) {
+            PageFactory.initElements(DriverManager.getDriver(), page);
+        } else {
+            for (Binding binding : BINDINGS.get(page.getClass())) {
+                binding.bind(page);
+            }
+        }
+        INIT_NANOS.addAndGet(System.nanoTime() - start);
+        INIT_BYTES.addAndGet(Math.max(0, allocatedBytes() - bytesBefore));
+        INSTANCES.incrementAndGet();
+    }
+
+    /**
+     * @return page objects initialized, page classes analysed, average init time and allocation
+     */
+    public static String getStats() {
+        long instances = INSTANCES.get();
+        if (instances == 0) {
+            return "";
+        }
+        return String.format("mode=%s instances=%d classes=%d avgInitMicros=%.1f avgInitBytes=%s%n",
+                usePageFactory() ? "pagefactory" : "cached", instances, CLASSES.get(),
+                INIT_NANOS.get() / 1000.0 / instances,
+                THREADS != null ? String.valueOf(INIT_BYTES.get() / instances) : "n/a");
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+                ((com.sun.management.ThreadMXBean) bean).setThreadAllocatedMemoryEnabled(true);
+                return (com.sun.management.ThreadMXBean) bean;
+            }
+        } catch (Throwable e) {
+            // allocation accounting is HotSpot specific; time is still recorded
+        }
+        return null;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    private static List<Binding> buildBindings(Class<?> type) {
+        List<Binding> bindings = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            MethodHandles.Lookup lookup = null;
+            for (Field field : c.getDeclaredFields()) {
+                Object handle = handleFor(field);
+                if (handle == null) {
+                    continue;
+                }
+                try {
+                    if (lookup == null) {
+                        lookup = MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+                    }
+                    bindings.add(new Binding(lookup.unreflectSetter(field), handle));
+                } catch (IllegalAccessException e) {
+                    throw new FrameworkException("Cannot bind page-object field " + c.getName() + "." + field.getName(), e);
+                }
+            }
+        }
+        CLASSES.incrementAndGet();
+        return Collections.unmodifiableList(bindings);
+    }
+
+    /**
+     * @return shared element handle for the field, or null if the field is not an element field
+     */
+    private static Object handleFor(Field field) {
+        if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        if (WebElement.class.equals(field.getType())) {
+            Annotations annotations = new Annotations(field);
+            boolean cached = field.isAnnotationPresent(CachedElement.class) || field.isAnnotationPresent(CacheLookup.class);
+            return new LazyElement(annotations.buildBy(), cached);
+        }
+        if (List.class.equals(field.getType()) && isWebElementList(field)
+                && (field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class))) {
+            return new LazyElementList(new Annotations(field).buildBy());
+        }
+        return null;
+    }
+
+    private static boolean isWebElementList(Field field) {
+        Type generic = field.getGenericType();
+        return generic instanceof ParameterizedType
+                && WebElement.class.equals(((ParameterizedType) generic).getActualTypeArguments()[0]);
+    }
+
+    private static final class Binding {
+        private final MethodHandle setter;
+        private final Object handle;
+
+        private Binding(MethodHandle setter, Object handle) {
+            this.setter = setter;
+            this.handle = handle;
+        }
+
+        private void bind(Object page) {
+            try {
+                setter.invoke(page, handle);
+            } catch (Throwable e) {
+                throw new FrameworkException("Cannot bind page-object field", e);
+            }
+        }
+    }
+}
@@ -1,91 +1,52 @@
 package com.ecommerce.utils;
 
-import com.ecommerce.constants.AppConstants;
-import com.ecommerce.constants.TimeConstants;
-import com.ecommerce.drivers.DriverManager;
-import io.qameta.allure.Attachment;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
-
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import com.ecommerce.reporting.ScreenshotService;
+import com.ecommerce.reporting.ScreenshotStore;
+import org.openqa.selenium.WebElement;
 
 /**
  * ScreenshotUtils provides utilities for capturing and storing screenshots:
  * - Takes WebDriver screenshots as bytes for Allure attachments
- * - Saves screenshots to disk with timestamped filenames
- * - Thread-safe static methods
+ * - Saves screenshots to a content-addressable store (one file per distinct image, see ScreenshotStore)
+ * - Element-level screenshots cropped to a single WebElement
+ * - Thread-safe static methods; capture, deduplication and async writes via ScreenshotService
  * - Integration with LogUtils and Allure reporting
  */
 public final class ScreenshotUtils {
 
-	private static final String SCREENSHOT_DIR = ConfigReader.containsKey(AppConstants.KEY_SCREENSHOT_PATH)
-            ? ConfigReader.get(AppConstants.KEY_SCREENSHOT_PATH)
-            : "screenshots";
-
-    // timestamp formatter for filenames
-    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern(
-            ConfigReader.containsKey(AppConstants.KEY_LOG_TIMESTAMP_PATTERN)
-                    ? ConfigReader.get(AppConstants.KEY_LOG_TIMESTAMP_PATTERN)
-                    : TimeConstants.TIMESTAMP_PATTERN
-    );
-
     private ScreenshotUtils() {
         // Prevent instantiation
     }
 
     /**
-     * Captures a screenshot as bytes and attaches it to Allure report.
+     * Captures a screenshot and attaches it to Allure report (written in the background).
      *
      * @param name descriptive name for the screenshot
-     * @return byte[] screenshot bytes
+     * @return SHA-256 of the image, null if not captured or identical to an earlier one in the test
      */
-    @Attachment(value = "Screenshot - {name}", type = "image/png")
-    public static byte[] captureScreenshotToAllure(String name) {
-        try {
-            byte[] screenshot = ((TakesScreenshot) DriverManager.getDriver())
-                    .getScreenshotAs(OutputType.BYTES);
-            LogUtils.info("Captured screenshot for: " + name);
-            return screenshot;
-        } catch (Exception e) {
-            LogUtils.error("Failed to capture screenshot for: " + name, e);
-            return new byte[0];
-        }
+    public static String captureScreenshotToAllure(String name) {
+        return ScreenshotService.capture(name);
     }
 
     /**
-     * Captures a screenshot, saves it to disk, logs the path, and attaches to Allure.
+     * Captures a screenshot once, then stores it and attaches it to Allure in the background.
      *
-     * @param name descriptive name for the screenshot file
-     * @return String full path of saved screenshot
+     * @param name descriptive name for the screenshot (recorded in the store index)
+     * @return String path of the image in the screenshot store, or null if it was not captured
      */
     public static String captureAndSaveScreenshot(String name) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String fileName = String.format("%s_%s.png", name.replaceAll("\\s+", "_"), timestamp);
-        Path outputPath = Paths.get(SCREENSHOT_DIR, fileName);
-        try {
-            // Ensure directory exists
-            Files.createDirectories(outputPath.getParent());
-
-            // Capture screenshot bytes
-            byte[] screenshot = ((TakesScreenshot) DriverManager.getDriver())
-                    .getScreenshotAs(OutputType.BYTES);
-
-            // Write to file
-            Files.write(outputPath, screenshot);
-            LogUtils.info("Saved screenshot to: " + outputPath.toString());
-
-            // Attach to Allure
-            captureScreenshotToAllure(name);
+        String hash = ScreenshotService.capture(name);
+        return hash != null ? ScreenshotStore.pathOf(hash).toString() : null;
+    }
 
-            return outputPath.toString();
-        } catch (IOException e) {
-            LogUtils.error("Failed to save screenshot to disk for: " + name, e);
-            return null;
-        }
+    /**
+     * Captures only the given element (e.g. a product card or an error banner).
+     *
+     * @param name    descriptive name for the screenshot
+     * @param element element to crop to
+     * @return SHA-256 of the image, null if not captured or a duplicate
+     */
+    public static String captureElementScreenshot(String name, WebElement element) {
+        return ScreenshotService.captureElement(name, element);
     }
 }
@@ -0,0 +1,105 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.constants.AppConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+/**
+ * Per-thread ring buffer of formatted log entries, flushed as one Allure attachment per test
+ * instead of one attachment file per log line.
+ * <p>
+ * Best practices:
+ * - log.attach.mode: always (every test), failure (failed tests only) or never
+ * - Capped at log.buffer.max.kb; the oldest entries are dropped first and the attachment
+ *   starts with a marker saying how many lines and bytes were dropped
+ * - Entries logged between two tests (fixtures) are kept for the next attachment
+ */
+public final class TestLogBuffer {
+    private static final long DEFAULT_MAX_KB = 512;
+    private static final String NL = System.lineSeparator();
+
+    private static final String MODE = ConfigReader.containsKey(AppConstants.KEY_LOG_ATTACH_MODE)
+            ? ConfigReader.get(AppConstants.KEY_LOG_ATTACH_MODE).toLowerCase()
+            : "always";
+    private static final long MAX_BYTES = 1024 * (ConfigReader.containsKey(AppConstants.KEY_LOG_BUFFER_MAX_KB)
+            ? ConfigReader.getLong(AppConstants.KEY_LOG_BUFFER_MAX_KB)
+            : DEFAULT_MAX_KB);
+
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    private TestLogBuffer() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @return false when log.attach.mode=never, in which case nothing is buffered
+     */
+    static boolean isEnabled() {
+        return !"never".equals(MODE);
+    }
+
+    static void append(String entry) {
+        if (isEnabled()) {
+            BUFFER.get().add(entry);
+        }
+    }
+
+    /**
+     * Take the current thread's buffered log and start a new one.
+     *
+     * @param failed whether the test failed
+     * @return log text to attach, or null if the mode says not to attach or nothing was logged
+     */
+    public static String drain(boolean failed) {
+        Buffer buffer = BUFFER.get();
+        BUFFER.remove();
+        boolean attach = "always".equals(MODE) || ("failure".equals(MODE) && failed);
+        return attach && !buffer.isEmpty() ? buffer.toString() : null;
+    }
+
+    private static final class Buffer {
+        private final ArrayDeque<String> entries = new ArrayDeque<>();
+        private final ArrayDeque<Integer> sizes = new ArrayDeque<>();
+        private long bytes;
+        private long droppedLines;
+        private long droppedBytes;
+
+        private void add(String entry) {
+            int size = entry.getBytes(StandardCharsets.UTF_8).length + NL.length();
+            if (size > MAX_BYTES) {
+                // a single oversized entry (e.g. page source) keeps its head only
+                entry = entry.substring(0, (int) Math.min(entry.length(), MAX_BYTES / 2))
+                        + " ...[entry truncated, " + size + " bytes]";
+                size = entry.getBytes(StandardCharsets.UTF_8).length + NL.length();
+            }
+            entries.addLast(entry);
+            sizes.addLast(size);
+            bytes += size;
+            while (bytes > MAX_BYTES && entries.size() > 1) {
+                entries.removeFirst();
+                int droppedSize = sizes.removeFirst();
+                bytes -= droppedSize;
+                droppedLines++;
+                droppedBytes += droppedSize;
+            }
+        }
+
+        private boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder((int) Math.min(Integer.MAX_VALUE, bytes + 128));
+            if (droppedLines > 0) {
+                sb.append("----- ").append(droppedLines).append(" earlier line(s) (").append(droppedBytes)
+                        .append(" bytes) dropped, log.buffer.max.kb=").append(MAX_BYTES / 1024).append(" -----").append(NL);
+            }
+            for (String entry : entries) {
+                sb.append(entry).append(NL);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.drivers.ScriptRegistry;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One condition of a composite wait (see WaitUtils.forAll). All conditions of a wait are
+ * evaluated together in a single script call per poll instead of one WebDriverWait each.
+ * <p>
+ * Best practices:
+ * - Build conditions with the static factories, e.g. invisible(spinner), clickable(button)
+ * - Locators must have a DOM equivalent: id, cssSelector, xpath, name, className, tagName
+ */
+public final class WaitCondition {
+
+    private static final String SCRIPT =
+            "var conds = arguments[0], out = [];"
+            + "function all(c) {"
+            + "  var list;"
+            + "  switch (c.kind) {"
+            + "    case 'id': var e = document.getElementById(c.sel); return e ? [e] : [];"
+            + "    case 'css': list = document.querySelectorAll(c.sel); break;"
+            + "    case 'name': list = document.getElementsByName(c.sel); break;"
+            + "    case 'className': list = document.getElementsByClassName(c.sel); break;"
+            + "    case 'tagName': list = document.getElementsByTagName(c.sel); break;"
+            + "    case 'xpath':"
+            + "      var r = document.evaluate(c.sel, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), a = [];"
+            + "      for (var i = 0; i < r.snapshotLength; i++) { a.push(r.snapshotItem(i)); }"
+            + "      return a;"
+            + "    default: return [];"
+            + "  }"
+            + "  return Array.prototype.slice.call(list);"
+            + "}"
+            + "function visible(e) {"
+            + "  if (!e || e.getClientRects().length === 0) { return false; }"
+            + "  var s = window.getComputedStyle(e);"
+            + "  return s.visibility !== 'hidden' && parseFloat(s.opacity) !== 0;"
+            + "}"
+            + "function text(e) { return e ? (e.innerText || e.textContent || '') : ''; }"
+            + "for (var i = 0; i < conds.length; i++) {"
+            + "  var c = conds[i], els = all(c), e = els[0] || null, ok;"
+            + "  switch (c.cond) {"
+            + "    case 'visible': ok = visible(e); break;"
+            + "    case 'invisible': ok = !els.some(visible); e = null; break;"
+            + "    case 'clickable': ok = visible(e) && !e.disabled; break;"
+            + "    case 'text': ok = c.arg === null ? text(e).trim().length > 0 : text(e).indexOf(c.arg) >= 0; break;"
+            + "    case 'attribute': ok = !!e && (c.value === null ? e.hasAttribute(c.arg) : e.getAttribute(c.arg) === c.value); break;"
+            + "    case 'count': ok = els.length === c.count; break;"
+            + "    case 'countAtLeast': ok = els.length >= c.count; break;"
+            + "    default: ok = false;"
+            + "  }"
+            + "  if (!ok) { return null; }"
+            + "  out.push(e);"
+            + "}"
+            + "return out;";
+
+    private final By locator;
+    private final String condition;
+    private final String arg;
+    private final String value;
+    private final int count;
+    private final String[] parsed;
+
+    private WaitCondition(By locator, String condition, String arg, String value, int count) {
+        this.locator = locator;
+        this.condition = condition;
+        this.arg = arg;
+        this.value = value;
+        this.count = count;
+        this.parsed = ObserverWait.parse(locator);
+        if (parsed == null) {
+            throw new IllegalArgumentException("Locator not supported in composite waits: " + locator);
+        }
+    }
+
+    public static WaitCondition visible(By locator) {
+        return new WaitCondition(locator, "visible", null, null, 0);
+    }
+
+    /**
+     * No element matching the locator is visible (e.g. a spinner is gone); resolves to null.
+     */
+    public static WaitCondition invisible(By locator) {
+        return new WaitCondition(locator, "invisible", null, null, 0);
+    }
+
+    public static WaitCondition clickable(By locator) {
+        return new WaitCondition(locator, "clickable", null, null, 0);
+    }
+
+    /**
+     * The first matching element contains the text.
+     */
+    public static WaitCondition text(By locator, String text) {
+        return new WaitCondition(locator, "text", text, null, 0);
+    }
+
+    /**
+     * The first matching element has non-blank text (e.g. a price has been populated).
+     */
+    public static WaitCondition textNotEmpty(By locator) {
+        return new WaitCondition(locator, "text", null, null, 0);
+    }
+
+    /**
+     * The first matching element has the attribute with the value, or at all if value is null.
+     */
+    public static WaitCondition attribute(By locator, String name, String value) {
+        return new WaitCondition(locator, "attribute", name, value, 0);
+    }
+
+    /**
+     * Exactly the given number of elements match; resolves to the first one.
+     */
+    public static WaitCondition count(By locator, int count) {
+        return new WaitCondition(locator, "count", null, null, count);
+    }
+
+    public static WaitCondition countAtLeast(By locator, int count) {
+        return new WaitCondition(locator, "countAtLeast", null, null, count);
+    }
+
+    private Map<String, Object> toScriptArgument() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("kind", parsed[0]);
+        map.put("sel", parsed[1]);
+        map.put("cond", condition);
+        map.put("arg", arg);
+        map.put("value", value);
+        map.put("count", count);
+        return map;
+    }
+
+    /**
+     * Evaluate all conditions in one script call.
+     * @return resolved element per condition (null for invisible), or null if any condition does not hold
+     */
+    @SuppressWarnings("unchecked")
+    static List<WebElement> evaluate(List<WaitCondition> conditions) {
+        List<Map<String, Object>> arguments = new ArrayList<>();
+        for (WaitCondition condition : conditions) {
+            arguments.add(condition.toScriptArgument());
+        }
+        Object result = ScriptRegistry.execute(SCRIPT, arguments);
+        return result instanceof List ? (List<WebElement>) result : null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(condition).append(' ').append(locator);
+        if (arg != null) {
+            sb.append(' ').append(arg);
+        }
+        if (value != null) {
+            sb.append('=').append(value);
+        }
+        if (condition.startsWith("count")) {
+            sb.append(' ').append(count);
+        }
+        return sb.toString();
+    }
+}
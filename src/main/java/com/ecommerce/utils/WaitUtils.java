@@ -2,27 +2,50 @@ package com.ecommerce.utils;
 
 import com.ecommerce.constants.AppConstants;
 import com.ecommerce.constants.TimeConstants;
+import com.ecommerce.drivers.ConsoleCollector;
 import com.ecommerce.drivers.DriverManager;
+import com.ecommerce.drivers.NetworkTracker;
+import com.ecommerce.drivers.ScriptRegistry;
+import com.ecommerce.reporting.TimingRecorder;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.*;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 /**
  * WaitUtils provides reusable wait methods with hybrid defaults from ConfigReader
  * and fallback support via AppConstants and TimeConstants.
  * 
  * Features:
- * - Explicit waits (WebDriverWait)
+ * - Explicit waits (WebDriverWait), optionally event-driven via ObserverWait (wait.mode=event)
+ * - Composite waits: several WaitConditions checked in one script call per poll
  * - Fluent waits (FluentWait) with custom polling
+ * - Adaptive backoff polling seeded by learned per-locator latency (AdaptivePolling)
  * - JavaScript and AJAX readiness checks
+ * - Network-idle waits from in-flight request tracking (NetworkTracker)
+ * - Optional fail-fast on uncaught JavaScript errors (ConsoleCollector, console.fail.fast)
  * - Hard wait for exceptional cases
+ * - Every wait is timed and reported through TimingRecorder
  */
 public final class WaitUtils {
 
+    /** "[ChromeDriver: chrome on linux (session id)] -> " in element descriptions. */
+    private static final Pattern DRIVER_DESCRIPTION = Pattern.compile("\\[\\w+: [^\\[\\]]*\\([^()]*\\)\\] -> ");
+    /** "RemoteWebElement@1a2b3c -> unknown locator" for elements without a locator. */
+    private static final Pattern UNKNOWN_LOCATOR = Pattern.compile("[\\w.$]+@[0-9a-f]+ -> unknown locator");
+    private static final String READY_STATE_SCRIPT = "return document.readyState";
+    private static final String JQUERY_ACTIVE_SCRIPT = "return jQuery.active";
+    private static final String RESOURCE_COUNT_SCRIPT =
+        "if (document.readyState !== 'complete' || (window.jQuery && jQuery.active > 0)) { return -1; }"
+        + " return performance.getEntriesByType('resource').length;";
+
     private WaitUtils() {
         // Prevent instantiation
     }
@@ -49,90 +72,250 @@ public final class WaitUtils {
             : Duration.ofMillis(TimeConstants.DEFAULT_POLLING_INTERVAL_MS);
     }
 
-    private static WebDriverWait newExplicitWait(Duration timeout) {
-        return new WebDriverWait(getDriver(), timeout);
+    /**
+     * Determine network quiet window: config override or fallback.
+     */
+    private static Duration getNetworkQuietWindow() {
+        return ConfigReader.containsKey(AppConstants.KEY_NETWORK_IDLE_QUIET_MS)
+            ? Duration.ofMillis(ConfigReader.getLong(AppConstants.KEY_NETWORK_IDLE_QUIET_MS))
+            : TimeConstants.NETWORK_QUIET_WINDOW;
+    }
+
+    /**
+     * Event-driven waits are used when wait.mode=event; polling otherwise.
+     */
+    private static boolean isEventMode() {
+        return ConfigReader.containsKey(AppConstants.KEY_WAIT_MODE)
+            && "event".equalsIgnoreCase(ConfigReader.get(AppConstants.KEY_WAIT_MODE));
     }
 
-    private static Wait<WebDriver> newFluentWait(Duration timeout, Duration polling) {
-        return new FluentWait<>(getDriver())
+    /**
+     * @return element once the condition holds, or null to fall back to polling
+     */
+    private static WebElement eventWait(Object target, String condition, String text) {
+        if (!isEventMode()) {
+            return null;
+        }
+        ConsoleCollector console = DriverManager.getSession().getConsoleCollector();
+        if (console != null) {
+            console.failOnUncaughtError();
+        }
+        long start = System.nanoTime();
+        try {
+            WebElement element = ObserverWait.until(target, condition, text, getExplicitWaitDuration());
+            if (element != null) {
+                TimingRecorder.recordWait(eventKey(target, condition), System.nanoTime() - start, false);
+            }
+            return element;
+        } catch (TimeoutException e) {
+            TimingRecorder.recordWait(eventKey(target, condition), System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    private static String eventKey(Object target, String condition) {
+        return condition + " " + (target instanceof WebElement ? keyOf((WebElement) target) : target) + " (event)";
+    }
+
+    /**
+     * Explicit wait time left after an event wait fell back to polling.
+     */
+    private static Duration remaining(long startMillis) {
+        Duration left = getExplicitWaitDuration().minusMillis(System.currentTimeMillis() - startMillis);
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+
+    private static WebDriverWait newExplicitWait(Duration timeout, Sleeper sleeper) {
+        return new WebDriverWait(getDriver(), timeout, getPollingInterval(), Clock.systemDefaultZone(), sleeper);
+    }
+
+    private static Wait<WebDriver> newFluentWait(Duration timeout, Duration polling, Sleeper sleeper) {
+        return new FluentWait<>(getDriver(), Clock.systemDefaultZone(), sleeper)
             .withTimeout(timeout)
             .pollingEvery(polling)
             .ignoreAll(Arrays.asList(NoSuchElementException.class, StaleElementReferenceException.class));
     }
 
+    /**
+     * Explicit wait whose polling is driven (and measured) by AdaptivePolling for the given key.
+     */
+    private static <V> V poll(String key, Duration timeout, Function<? super WebDriver, V> condition) {
+        AdaptivePolling.Tracker tracker = AdaptivePolling.start(key, getPollingInterval(), timeout);
+        return track(key, tracker, newExplicitWait(timeout, tracker), condition);
+    }
+
+    private static <V> V track(String key, AdaptivePolling.Tracker tracker, Wait<WebDriver> wait,
+                               Function<? super WebDriver, V> condition) {
+        ConsoleCollector console = DriverManager.getSession().getConsoleCollector();
+        long start = System.nanoTime();
+        try {
+            V value = wait.until(console == null ? condition : wd -> {
+                console.failOnUncaughtError();
+                return condition.apply(wd);
+            });
+            tracker.ready();
+            TimingRecorder.recordWait(key, System.nanoTime() - start, false);
+            return value;
+        } catch (TimeoutException e) {
+            tracker.timedOut();
+            TimingRecorder.recordWait(key, System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    /**
+     * Stable learning key for an element: the same locator TimingRecorder reports its commands under.
+     */
+    private static String keyOf(WebElement element) {
+        return TimingRecorder.locatorOf(element);
+    }
+
+    /**
+     * Learning key for an arbitrary condition; lambdas have no stable description. Element
+     * descriptions inside ExpectedConditions are reduced to their locator (no session ids or
+     * object hashes), so the latency file does not gain an entry per session.
+     */
+    private static String keyOf(Function<?, ?> condition) {
+        String description = String.valueOf(condition);
+        if (description.contains("$$Lambda")) {
+            return "custom condition";
+        }
+        description = DRIVER_DESCRIPTION.matcher(description).replaceAll("");
+        return UNKNOWN_LOCATOR.matcher(description).replaceAll("unknown locator");
+    }
+
     // -------- Explicit Waits --------
 
     public static WebElement forVisibility(WebElement element) {
-        return newExplicitWait(getExplicitWaitDuration())
-            .until(ExpectedConditions.visibilityOf(element));
+        long start = System.currentTimeMillis();
+        WebElement found = eventWait(element, "visible", null);
+        return found != null ? found : poll("visible " + keyOf(element), remaining(start),
+            ExpectedConditions.visibilityOf(element));
     }
 
     public static WebElement forVisibility(By locator) {
-        return newExplicitWait(getExplicitWaitDuration())
-            .until(ExpectedConditions.visibilityOfElementLocated(locator));
+        long start = System.currentTimeMillis();
+        WebElement found = eventWait(locator, "visible", null);
+        return found != null ? found : poll("visible " + locator, remaining(start),
+            ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     public static WebElement forClickable(WebElement element) {
-        return newExplicitWait(getExplicitWaitDuration())
-            .until(ExpectedConditions.elementToBeClickable(element));
+        long start = System.currentTimeMillis();
+        WebElement found = eventWait(element, "clickable", null);
+        return found != null ? found : poll("clickable " + keyOf(element), remaining(start),
+            ExpectedConditions.elementToBeClickable(element));
     }
 
     public static WebElement forClickable(By locator) {
-        return newExplicitWait(getExplicitWaitDuration())
-            .until(ExpectedConditions.elementToBeClickable(locator));
+        long start = System.currentTimeMillis();
+        WebElement found = eventWait(locator, "clickable", null);
+        return found != null ? found : poll("clickable " + locator, remaining(start),
+            ExpectedConditions.elementToBeClickable(locator));
     }
 
     public static WebElement forPresence(By locator) {
-        return newExplicitWait(getExplicitWaitDuration())
-            .until(ExpectedConditions.presenceOfElementLocated(locator));
+        long start = System.currentTimeMillis();
+        WebElement found = eventWait(locator, "present", null);
+        return found != null ? found : poll("present " + locator, remaining(start),
+            ExpectedConditions.presenceOfElementLocated(locator));
     }
 
     public static boolean forText(WebElement element, String text) {
-        return newExplicitWait(getExplicitWaitDuration())
-            .until(ExpectedConditions.textToBePresentInElement(element, text));
+        long start = System.currentTimeMillis();
+        if (eventWait(element, "text", text) != null) {
+            return true;
+        }
+        return poll("text " + keyOf(element), remaining(start),
+            ExpectedConditions.textToBePresentInElement(element, text));
+    }
+
+    /**
+     * Wait until all conditions hold at the same time, e.g.
+     * {@code forAll(invisible(spinner), clickable(checkoutButton), textNotEmpty(total))}.
+     * Each poll is a single script round-trip, whatever the number of conditions.
+     *
+     * @return resolved element per condition, in order (null for invisible conditions)
+     */
+    public static List<WebElement> forAll(WaitCondition... conditions) {
+        return forAll(getExplicitWaitDuration(), conditions);
+    }
+
+    public static List<WebElement> forAll(Duration timeout, WaitCondition... conditions) {
+        List<WaitCondition> list = Arrays.asList(conditions);
+        String key = list.stream().map(WaitCondition::toString).collect(Collectors.joining(" & ", "all[", "]"));
+        return poll(key, timeout, wd -> WaitCondition.evaluate(list));
     }
 
     public static void forFrameAndSwitch(By locator) {
-        newExplicitWait(getExplicitWaitDuration())
-            .until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(locator));
+        poll("frame " + locator, getExplicitWaitDuration(),
+            ExpectedConditions.frameToBeAvailableAndSwitchToIt(locator));
     }
 
     // -------- Fluent Wait --------
 
     public static <V> V until(Function<WebDriver, V> condition) {
-        return newFluentWait(getExplicitWaitDuration(), getPollingInterval())
-            .until(condition);
+        return until(condition, getExplicitWaitDuration(), getPollingInterval());
     }
 
     public static <V> V until(Function<WebDriver, V> condition, Duration timeout, Duration polling) {
-        return newFluentWait(timeout, polling).until(condition);
+        String key = keyOf(condition);
+        AdaptivePolling.Tracker tracker = AdaptivePolling.start(key, polling, timeout);
+        return track(key, tracker, newFluentWait(timeout, polling, tracker), condition);
     }
 
     // -------- Page Load & AJAX --------
 
     public static void forPageLoad() {
-        newExplicitWait(getExplicitWaitDuration())
-            .until((ExpectedCondition<Boolean>) wd ->
-                ((JavascriptExecutor) wd).executeScript("return document.readyState").equals("complete")
+        poll("page load", getExplicitWaitDuration(), (ExpectedCondition<Boolean>) wd ->
+                "complete".equals(ScriptRegistry.execute(READY_STATE_SCRIPT))
             );
     }
 
     public static void forJSandJQuery() {
-        WebDriverWait wait = newExplicitWait(getExplicitWaitDuration());
-
         ExpectedCondition<Boolean> jQueryLoad = wd -> {
             try {
-                return ((Long) ((JavascriptExecutor) wd).executeScript("return jQuery.active")) == 0;
+                return ((Long) ScriptRegistry.execute(JQUERY_ACTIVE_SCRIPT)) == 0;
             } catch (Exception e) {
                 return true;
             }
         };
 
         ExpectedCondition<Boolean> jsLoad = wd ->
-            ((JavascriptExecutor) wd).executeScript("return document.readyState").equals("complete");
+            "complete".equals(ScriptRegistry.execute(READY_STATE_SCRIPT));
+
+        poll("jQuery.active", getExplicitWaitDuration(), jQueryLoad);
+        poll("page load", getExplicitWaitDuration(), jsLoad);
+    }
 
-        wait.until(jQueryLoad);
-        wait.until(jsLoad);
+    /**
+     * Wait until no request (document, XHR, fetch, asset) has been in flight for the configured
+     * quiet window. Use after actions that trigger AJAX instead of a hard wait.
+     */
+    public static void forNetworkIdle() {
+        forNetworkIdle(getNetworkQuietWindow());
+    }
+
+    public static void forNetworkIdle(Duration quietWindow) {
+        NetworkTracker tracker = DriverManager.getSession().getNetworkTracker();
+        if (tracker != null) {
+            poll("network idle", getExplicitWaitDuration(), wd -> tracker.isIdle(quietWindow));
+            return;
+        }
+        // no DevTools: idle once the document is complete, jQuery is done and no new
+        // Resource Timing entry (i.e. no completed request) appeared during the quiet window
+        long[] lastCount = {-1};
+        long[] changedAt = {System.nanoTime()};
+        poll("network idle (resource timing)", getExplicitWaitDuration(), wd -> {
+            long count = ((Number) ScriptRegistry.execute(RESOURCE_COUNT_SCRIPT)).longValue();
+            long now = System.nanoTime();
+            if (count < 0 || count != lastCount[0]) {
+                lastCount[0] = count;
+                changedAt[0] = now;
+                return false;
+            }
+            return now - changedAt[0] >= quietWindow.toNanos();
+        });
     }
 
     // -------- Hard Wait (use sparingly) --------
@@ -1,36 +1,113 @@
 package com.ecommerce.utils;
 
-import com.ecommerce.constants.AppConstants;
-import com.ecommerce.constants.TimeConstants;
 import com.ecommerce.drivers.DriverManager;
+import com.ecommerce.drivers.ScriptRegistry;
+import com.ecommerce.exceptions.FrameworkException;
 import io.qameta.allure.Step;
-import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * Utility class that combines PageFactory for element initialization with reusable WebElement actions.
+ * Utility class that combines page-object element initialization (PageObjectFactory) with reusable WebElement actions.
  * Best Practices:
  * - Thread safety via WebDriverManager
  * - Consistent explicit waits
  * - Optional Allure logging
  * - JavaScript execution for advanced interactions
+ * - Opt-in element caching per field with @CachedElement
+ * - Batched form fill in a single script execution
+ * - Bulk text/attribute extraction for grids and lists
  */
 public class WebElementUtils {
 
-	private static final int TIMEOUT = ConfigReader.containsKey(AppConstants.KEY_EXPLICIT_WAIT)
-	        ? Integer.parseInt(ConfigReader.get(AppConstants.KEY_EXPLICIT_WAIT))
-	        : (int) TimeConstants.DEFAULT_EXPLICIT_WAIT_SECONDS;
+    private static final String CLICK_SCRIPT = "arguments[0].click();";
+    private static final String SCROLL_INTO_VIEW_SCRIPT = "arguments[0].scrollIntoView(true);";
 
+    private static final String FILL_FORM_SCRIPT =
+            "var fields = arguments[0], missing = [];"
+            + "function find(kind, sel) {"
+            + "  switch (kind) {"
+            + "    case 'id': return document.getElementById(sel);"
+            + "    case 'css': return document.querySelector(sel);"
+            + "    case 'name': return document.getElementsByName(sel)[0] || null;"
+            + "    case 'className': return document.getElementsByClassName(sel)[0] || null;"
+            + "    case 'tagName': return document.getElementsByTagName(sel)[0] || null;"
+            + "    case 'xpath': return document.evaluate(sel, document, null,"
+            + "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var f = fields[i], e = find(f.kind, f.sel);"
+            + "  if (!e || e.disabled || e.readOnly || e.getClientRects().length === 0) { missing.push(i); continue; }"
+            + "  e.focus();"
+            + "  if (e.type === 'checkbox' || e.type === 'radio') {"
+            // click() fires input/change itself
+            + "    if (e.checked !== (f.value === 'true')) { e.click(); }"
+            + "    e.blur(); continue;"
+            + "  }"
+            + "  var value = f.value;"
+            + "  if (e.tagName === 'SELECT') {"
+            + "    var option = null;"
+            + "    for (var j = 0; j < e.options.length; j++) {"
+            + "      var o = e.options[j];"
+            + "      if (o.value === value || o.text.trim() === value) { option = o; break; }"
+            + "    }"
+            + "    if (!option) { missing.push(i); continue; }"
+            + "    value = option.value;"
+            + "  }"
+            // native setter so framework-controlled inputs (React, Vue) see the change
+            + "  var proto = e.tagName === 'SELECT' ? HTMLSelectElement.prototype"
+            + "      : e.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+            + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(e, value);"
+            + "  e.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  e.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "  e.blur();"
+            + "}"
+            + "return missing;";
+
+
+    private static final String READ_ROWS_SCRIPT =
+            "var kind = arguments[0], sel = arguments[1], columns = arguments[2], rows;"
+            + "switch (kind) {"
+            + "  case 'id': var r = document.getElementById(sel); rows = r ? [r] : []; break;"
+            + "  case 'css': rows = document.querySelectorAll(sel); break;"
+            + "  case 'name': rows = document.getElementsByName(sel); break;"
+            + "  case 'className': rows = document.getElementsByClassName(sel); break;"
+            + "  case 'tagName': rows = document.getElementsByTagName(sel); break;"
+            + "  case 'xpath':"
+            + "    var x = document.evaluate(sel, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "    rows = [];"
+            + "    for (var k = 0; k < x.snapshotLength; k++) { rows.push(x.snapshotItem(k)); }"
+            + "    break;"
+            + "  default: rows = [];"
+            + "}"
+            + "var out = [];"
+            + "for (var i = 0; i < rows.length; i++) {"
+            + "  var row = {};"
+            + "  for (var name in columns) {"
+            + "    var spec = columns[name], at = spec.lastIndexOf('@'),"
+            + "        css = at >= 0 ? spec.substring(0, at) : spec, attr = at >= 0 ? spec.substring(at + 1) : null,"
+            + "        e = css ? rows[i].querySelector(css) : rows[i];"
+            + "    row[name] = !e ? null : attr ? e.getAttribute(attr)"
+            + "        : (e.textContent || '').replace(/\\s+/g, ' ').trim();"
+            + "  }"
+            + "  out.push(row);"
+            + "}"
+            + "return out;";
 
     private static WebDriver getDriver() {
         return DriverManager.getDriver();
@@ -47,7 +124,7 @@ public class WebElementUtils {
     private List<WebElement> inputFields;
 
     public WebElementUtils() {
-        PageFactory.initElements(getDriver(), this);
+        PageObjectFactory.initElements(this);
     }
 
     @Step("Clicking on element")
@@ -76,6 +153,135 @@ public class WebElementUtils {
         }
     }
 
+    /**
+     * Fill several fields in one script execution, firing focus, input, change and blur so
+     * frontend validation still runs. Selects match option value or text; checkboxes and
+     * radios take "true"/"false". Fields not yet rendered are waited for with one composite
+     * wait and filled in a second script call.
+     *
+     * @param values       locator to value, filled in iteration order (use a LinkedHashMap)
+     * @param nativeTyping fields that need real key events; typed with sendKeys after the others
+     */
+    @Step("Filling form")
+    public void fillForm(Map<By, String> values, By... nativeTyping) {
+        try {
+            Set<By> typed = new HashSet<>(Arrays.asList(nativeTyping));
+            List<By> scripted = new ArrayList<>();
+            for (By by : values.keySet()) {
+                if (!typed.contains(by) && ObserverWait.parse(by) == null) {
+                    typed.add(by); // no DOM equivalent for the locator (link text, chained)
+                }
+                if (!typed.contains(by)) {
+                    scripted.add(by);
+                }
+            }
+            List<By> missing = setValues(scripted, values);
+            if (!missing.isEmpty()) {
+                WaitUtils.forAll(missing.stream().map(WaitCondition::clickable).toArray(WaitCondition[]::new));
+                missing = setValues(missing, values);
+                if (!missing.isEmpty()) {
+                    throw new FrameworkException("Form fields could not be filled: " + missing);
+                }
+            }
+            for (By by : values.keySet()) {
+                if (typed.contains(by)) {
+                    sendKeys(getDriver().findElement(by), values.get(by));
+                }
+            }
+            LogUtils.info("Filled " + values.size() + " form field(s), " + typed.size() + " by native typing");
+        } catch (Exception e) {
+            LogUtils.error("Form fill failed", e);
+            ScreenshotUtils.captureScreenshotToAllure("fillform_failure");
+            throw e;
+        }
+    }
+
+    /**
+     * @return the locators that were not found, hidden, disabled or had no matching option
+     */
+    @SuppressWarnings("unchecked")
+    private static List<By> setValues(List<By> locators, Map<By, String> values) {
+        if (locators.isEmpty()) {
+            return locators;
+        }
+        List<Map<String, Object>> fields = new ArrayList<>();
+        for (By by : locators) {
+            String[] parsed = ObserverWait.parse(by);
+            Map<String, Object> field = new HashMap<>();
+            field.put("kind", parsed[0]);
+            field.put("sel", parsed[1]);
+            field.put("value", values.get(by));
+            fields.add(field);
+        }
+        List<Number> missing = (List<Number>) ScriptRegistry.execute(FILL_FORM_SCRIPT, fields);
+        List<By> result = new ArrayList<>();
+        for (Number index : missing) {
+            result.add(locators.get(index.intValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Read text and attributes of every row of a grid or list in a single script call.
+     * Rows present at call time are read; wait for the first row beforehand if needed.
+     *
+     * @param rows    locator matching every row (id, cssSelector, xpath, name, className, tagName)
+     * @param columns column name to CSS selector relative to the row; "" is the row itself and a
+     *                trailing "@attr" reads that attribute instead of the text,
+     *                e.g. {"name": ".item_name", "link": "a@href"}
+     * @return one map per row, column name to whitespace-normalized text or attribute (null if absent)
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, String>> readRows(By rows, Map<String, String> columns) {
+        String[] parsed = ObserverWait.parse(rows);
+        if (parsed == null) {
+            throw new IllegalArgumentException("Locator not supported for bulk reads: " + rows);
+        }
+        List<Map<String, String>> result = (List<Map<String, String>>) ScriptRegistry
+                .execute(READ_ROWS_SCRIPT, parsed[0], parsed[1], columns);
+        LogUtils.info("Read " + result.size() + " row(s) from " + rows);
+        return result;
+    }
+
+    /**
+     * Parse a price string such as "$29.99", "1,299.00", "29,99 €" or "-5.00".
+     *
+     * @return numeric value, or null if the text contains no number
+     */
+    public static BigDecimal parsePrice(String text) {
+        if (text == null) {
+            return null;
+        }
+        String digits = text.replaceAll("[^0-9.,-]", "");
+        int lastDot = digits.lastIndexOf('.');
+        int lastComma = digits.lastIndexOf(',');
+        int separator = Math.max(lastDot, lastComma);
+        // the last '.' or ',' is the decimal separator when one or two digits follow it
+        boolean hasDecimals = separator >= 0 && digits.length() - separator - 1 <= 2;
+        String integer = (hasDecimals ? digits.substring(0, separator) : digits).replaceAll("[.,]", "");
+        String normalized = hasDecimals ? integer + "." + digits.substring(separator + 1) : integer;
+        if (normalized.replace("-", "").replace(".", "").isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(normalized);
+        } catch (NumberFormatException e) {
+            LogUtils.warn("Unparseable price: " + text);
+            return null;
+        }
+    }
+
+    /**
+     * @return the column of every row parsed with {@link #parsePrice(String)}
+     */
+    public static List<BigDecimal> parsePrices(List<Map<String, String>> rows, String column) {
+        List<BigDecimal> prices = new ArrayList<>(rows.size());
+        for (Map<String, String> row : rows) {
+            prices.add(parsePrice(row.get(column)));
+        }
+        return prices;
+    }
+
     public String getText(WebElement element) {
         try {
             String text = waitForVisibility(element).getText();
@@ -101,8 +307,7 @@ public class WebElementUtils {
 
     public void clickWithJS(WebElement element) {
         try {
-            JavascriptExecutor js = (JavascriptExecutor) getDriver();
-            js.executeScript("arguments[0].click();", element);
+            ScriptRegistry.execute(CLICK_SCRIPT, element);
             LogUtils.info("JS click successful");
         } catch (Exception e) {
             LogUtils.error("JS click failed", e);
@@ -113,8 +318,7 @@ public class WebElementUtils {
 
     public void scrollIntoView(WebElement element) {
         try {
-            JavascriptExecutor js = (JavascriptExecutor) getDriver();
-            js.executeScript("arguments[0].scrollIntoView(true);", element);
+            ScriptRegistry.execute(SCROLL_INTO_VIEW_SCRIPT, element);
             LogUtils.info("Scrolled into view");
         } catch (Exception e) {
             LogUtils.error("Scroll failed", e);
@@ -155,12 +359,10 @@ public class WebElementUtils {
     }
 
     private static WebElement waitForVisibility(WebElement element) {
-        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(TIMEOUT))
-                .until(ExpectedConditions.visibilityOf(element));
+        return WaitUtils.forVisibility(element);
     }
 
     private static WebElement waitForClickability(WebElement element) {
-        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(TIMEOUT))
-                .until(ExpectedConditions.elementToBeClickable(element));
+        return WaitUtils.forClickable(element);
     }
 }
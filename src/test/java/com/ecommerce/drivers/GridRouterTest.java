@@ -0,0 +1,247 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.exceptions.FrameworkException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GridRouter against stub Selenium Grid endpoints: /status parsing, least-loaded fallback order
+ * (configured order on ties), per-browser status caching and circuit breaker open / half-open /
+ * re-close, including endpoints whose /status is unreachable.
+ */
+public class GridRouterTest {
+    private static final String SESSION_CREATED =
+            "{\"value\":{\"sessionId\":\"stub-session\",\"capabilities\":{\"browserName\":\"chrome\"}}}";
+    private static final String SESSION_REFUSED =
+            "{\"value\":{\"error\":\"session not created\",\"message\":\"stub refused\",\"stacktrace\":\"\"}}";
+
+    private final List<StubGrid> grids = new ArrayList<>();
+    private final List<String> sessionLog = new ArrayList<>();
+
+    @AfterMethod(alwaysRun = true)
+    public void stopGrids() {
+        grids.forEach(StubGrid::stop);
+        grids.clear();
+        sessionLog.clear();
+    }
+
+    @Test
+    public void countsFreeSlotsForBrowserOnUpNodesOnly() {
+        String status = "{\"value\":{\"ready\":true,\"nodes\":["
+                + node("UP", slot("chrome", false), slot("chrome", true), slot("firefox", false))
+                + "," + node("DOWN", slot("chrome", false))
+                + "," + node("UP", slot("CHROME", false)) + "]}}";
+        Assert.assertEquals(GridRouter.Endpoint.countFreeSlots(status, "chrome"), 2);
+        Assert.assertEquals(GridRouter.Endpoint.countFreeSlots(status, "firefox"), 1);
+        Assert.assertEquals(GridRouter.Endpoint.countFreeSlots(status, "edge"), 0);
+    }
+
+    @Test
+    public void countsStandaloneNodeAndRejectsNotReady() {
+        String standalone = "{\"value\":{\"ready\":true,\"node\":" + node("UP", slot("chrome", false)) + "}}";
+        Assert.assertEquals(GridRouter.Endpoint.countFreeSlots(standalone, "chrome"), 1);
+        String notReady = "{\"value\":{\"ready\":false,\"nodes\":[" + node("UP", slot("chrome", false)) + "]}}";
+        Assert.assertEquals(GridRouter.Endpoint.countFreeSlots(notReady, "chrome"), 0);
+    }
+
+    @Test
+    public void prefersEndpointWithMostFreeSlots() throws IOException {
+        StubGrid busy = start("busy", 1, false);
+        StubGrid idle = start("idle", 3, false);
+
+        quit(GridRouter.createDriver(Arrays.asList(busy.endpoint(3, 60_000), idle.endpoint(3, 60_000)),
+                "chrome", new ChromeOptions()));
+
+        Assert.assertEquals(sessionLog, List.of("idle"));
+    }
+
+    @Test
+    public void keepsConfiguredOrderOnTies() throws IOException {
+        StubGrid first = start("first", 2, false);
+        StubGrid second = start("second", 2, false);
+
+        quit(GridRouter.createDriver(Arrays.asList(first.endpoint(3, 60_000), second.endpoint(3, 60_000)),
+                "chrome", new ChromeOptions()));
+        quit(GridRouter.createDriver(Arrays.asList(second.endpoint(3, 60_000), first.endpoint(3, 60_000)),
+                "chrome", new ChromeOptions()));
+
+        Assert.assertEquals(sessionLog, List.of("first", "second"));
+    }
+
+    @Test
+    public void cachesStatusPerBrowser() throws IOException {
+        StubGrid grid = start("grid", 5, false);
+        List<GridRouter.Endpoint> endpoints = List.of(grid.endpoint(3, 60_000));
+
+        for (String browser : List.of("chrome", "firefox", "chrome", "firefox")) {
+            quit(GridRouter.createDriver(endpoints, browser, new ChromeOptions()));
+        }
+
+        Assert.assertEquals(grid.statusRequests.get(), 2, "one /status fetch per browser within the cache window");
+        Assert.assertEquals(grid.sessionRequests.get(), 4);
+    }
+
+    @Test
+    public void unreachableStatusOpensCircuitAndIsSkipped() throws IOException {
+        StubGrid down = start("down", 5, false);
+        GridRouter.Endpoint downEndpoint = down.endpoint(1, 60_000);
+        grids.remove(down);
+        down.stop();
+        StubGrid healthy = start("healthy", 1, false);
+
+        quit(GridRouter.createDriver(List.of(downEndpoint, healthy.endpoint(1, 60_000)),
+                "chrome", new ChromeOptions()));
+
+        Assert.assertEquals(sessionLog, List.of("healthy"));
+        Assert.assertEquals(downEndpoint.getCircuitState(), "OPEN");
+        Assert.assertFalse(downEndpoint.isAvailable());
+    }
+
+    @Test
+    public void fallsBackToNextEndpointWhenSessionCreationFails() throws IOException {
+        StubGrid failing = start("failing", 3, true);
+        StubGrid healthy = start("healthy", 1, false);
+
+        quit(GridRouter.createDriver(Arrays.asList(failing.endpoint(3, 60_000), healthy.endpoint(3, 60_000)),
+                "chrome", new ChromeOptions()));
+
+        Assert.assertEquals(sessionLog, List.of("failing", "healthy"));
+    }
+
+    @Test
+    public void breakerOpensThenRecloses() throws Exception {
+        StubGrid grid = start("grid", 1, true);
+        GridRouter.Endpoint endpoint = grid.endpoint(1, 300);
+        List<GridRouter.Endpoint> endpoints = List.of(endpoint);
+
+        Assert.assertThrows(FrameworkException.class, () -> GridRouter.createDriver(endpoints, "chrome", new ChromeOptions()));
+        Assert.assertEquals(endpoint.getCircuitState(), "OPEN");
+        Assert.assertFalse(endpoint.isAvailable());
+        FrameworkException open = Assert.expectThrows(FrameworkException.class,
+                () -> GridRouter.createDriver(endpoints, "chrome", new ChromeOptions()));
+        Assert.assertTrue(open.getMessage().contains("circuit open"), open.getMessage());
+
+        Thread.sleep(400);
+        Assert.assertEquals(endpoint.getCircuitState(), "HALF_OPEN");
+        grid.failSessions = false;
+        quit(GridRouter.createDriver(endpoints, "chrome", new ChromeOptions()));
+
+        Assert.assertEquals(endpoint.getCircuitState(), "CLOSED");
+        Assert.assertEquals(grid.sessionRequests.get(), 2);
+    }
+
+    @Test
+    public void untriedHalfOpenEndpointKeepsItsTrial() throws Exception {
+        StubGrid recovering = start("recovering", 1, true);
+        StubGrid healthy = start("healthy", 5, false);
+        GridRouter.Endpoint recoveringEndpoint = recovering.endpoint(1, 300);
+        List<GridRouter.Endpoint> endpoints = List.of(recoveringEndpoint, healthy.endpoint(1, 300));
+
+        // open the circuit of the recovering endpoint on its own
+        Assert.assertThrows(FrameworkException.class,
+                () -> GridRouter.createDriver(List.of(recoveringEndpoint), "chrome", new ChromeOptions()));
+        Thread.sleep(400);
+        recovering.failSessions = false;
+
+        // healthy has more free slots and wins; recovering is a candidate but never tried
+        quit(GridRouter.createDriver(endpoints, "chrome", new ChromeOptions()));
+        Assert.assertTrue(recoveringEndpoint.isAvailable(), "untried endpoint must not keep a half-open claim");
+
+        quit(GridRouter.createDriver(List.of(recoveringEndpoint), "chrome", new ChromeOptions()));
+        Assert.assertEquals(recoveringEndpoint.getCircuitState(), "CLOSED");
+        Assert.assertEquals(sessionLog, List.of("recovering", "healthy", "recovering"));
+    }
+
+    private StubGrid start(String name, int freeChromeSlots, boolean failSessions) throws IOException {
+        StubGrid grid = new StubGrid(name, freeChromeSlots, failSessions);
+        grids.add(grid);
+        return grid;
+    }
+
+    private static void quit(WebDriver driver) {
+        Assert.assertNotNull(driver);
+        driver.quit();
+    }
+
+    private static String node(String availability, String... slots) {
+        return "{\"availability\":\"" + availability + "\",\"slots\":[" + String.join(",", slots) + "]}";
+    }
+
+    private static String slot(String browser, boolean busy) {
+        return "{\"stereotype\":{\"browserName\":\"" + browser + "\"},\"session\":"
+                + (busy ? "{\"sessionId\":\"busy\"}" : "null") + "}";
+    }
+
+    /**
+     * Minimal grid: /status with a fixed number of free chrome slots, POST /session that either
+     * creates a session or refuses it, and an empty success for anything else (quit).
+     */
+    private final class StubGrid {
+        private final String name;
+        private final HttpServer server;
+        private final String status;
+        private final AtomicInteger statusRequests = new AtomicInteger();
+        private final AtomicInteger sessionRequests = new AtomicInteger();
+        private volatile boolean failSessions;
+
+        private StubGrid(String name, int freeChromeSlots, boolean failSessions) throws IOException {
+            this.name = name;
+            this.failSessions = failSessions;
+            String[] slots = new String[freeChromeSlots];
+            Arrays.fill(slots, slot("chrome", false));
+            this.status = "{\"value\":{\"ready\":true,\"nodes\":[" + node("UP", slots) + "]}}";
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", this::handle);
+            server.start();
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            exchange.getRequestBody().readAllBytes();
+            if ("/status".equals(path)) {
+                statusRequests.incrementAndGet();
+                respond(exchange, 200, status);
+            } else if ("/session".equals(path) && "POST".equals(exchange.getRequestMethod())) {
+                sessionRequests.incrementAndGet();
+                synchronized (sessionLog) {
+                    sessionLog.add(name);
+                }
+                respond(exchange, failSessions ? 500 : 200, failSessions ? SESSION_REFUSED : SESSION_CREATED);
+            } else {
+                respond(exchange, 200, "{\"value\":null}");
+            }
+        }
+
+        private void respond(HttpExchange exchange, int code, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(code, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+
+        private GridRouter.Endpoint endpoint(int failureThreshold, long cooldownMillis) {
+            return new GridRouter.Endpoint("http://127.0.0.1:" + server.getAddress().getPort(),
+                    failureThreshold, cooldownMillis);
+        }
+
+        private void stop() {
+            server.stop(0);
+        }
+    }
+}
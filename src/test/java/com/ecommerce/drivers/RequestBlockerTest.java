@@ -0,0 +1,139 @@
+package com.ecommerce.drivers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * RequestBlocker against a local page with fake third-party includes, in headless Chrome:
+ * the host-anchored network.blocklist patterns handed to Network.setBlockedURLs block the
+ * third-party hosts, first-party requests still load (also when they mention a vendor in the
+ * query), and only blocked requests are counted. Skipped when no local Chrome can be started.
+ */
+public class RequestBlockerTest {
+    private static final long EVENT_TIMEOUT_MS = 5000;
+
+    private final Set<String> served = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private DriverSession session;
+
+    @BeforeClass
+    public void startPageAndBrowser() throws IOException {
+        Assert.assertTrue(RequestBlocker.getPatterns().containsAll(List.of(
+                        "*://*.google-analytics.com/*", "*://*.googletagmanager.com/*",
+                        "*://*.doubleclick.net/*", "*://*.hotjar.com/*")),
+                "network.blocklist no longer contains the patterns this check relies on");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        try {
+            session = new DriverSession(new ChromeDriver(new ChromeOptions().addArguments("--headless=new")),
+                    "chrome", "default");
+        } catch (Exception e) {
+            throw new SkipException("Chrome not available: " + e.getMessage());
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stop() {
+        if (session != null) {
+            session.quit();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void blocksConfiguredThirdPartyRequestsOnly() throws InterruptedException {
+        RequestBlocker blocker = RequestBlocker.install(session);
+        Assert.assertNotNull(blocker, "blocker not installed on a CDP driver");
+
+        session.getDriver().get("http://127.0.0.1:" + server.getAddress().getPort() + "/page.html");
+        waitFor(() -> Boolean.TRUE.equals(((JavascriptExecutor) session.getDriver())
+                .executeScript("return window.__fetchesDone === true;")));
+        waitFor(() -> blocker.getBlockedRequests() >= 3);
+        TimeUnit.MILLISECONDS.sleep(300); // a fourth (wrongly) blocked request would arrive by now
+
+        String summary = blocker.drain();
+        Assert.assertTrue(summary.contains("Blocked requests: 3"), summary);
+        Assert.assertTrue(summary.contains("www.google-analytics.com: 1"), summary);
+        Assert.assertTrue(summary.contains("www.googletagmanager.com: 1"), summary);
+        Assert.assertTrue(summary.contains("stats.g.doubleclick.net: 1"), summary);
+        // host-anchored patterns leave first-party URLs that mention a vendor alone
+        Assert.assertFalse(summary.contains("127.0.0.1"), summary);
+        Assert.assertFalse(summary.contains("Transferred bytes (unblocked): 0"), summary);
+
+        Assert.assertTrue(served.containsAll(List.of("/page.html", "/app.js", "/logo.png", "/collect", "/api/products")),
+                served.toString());
+        Assert.assertTrue(blocker.drain().startsWith("Blocked requests: 0"), "drain must reset the counters");
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + EVENT_TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                Assert.fail("condition not met within " + EVENT_TIMEOUT_MS + "ms");
+            }
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        served.add(path);
+        String body;
+        String type;
+        switch (path) {
+            case "/page.html":
+                type = "text/html";
+                body = "<html><head>"
+                        + "<script src=\"https://www.google-analytics.com/analytics.js\"></script>"
+                        + "<script src=\"https://www.googletagmanager.com/gtm.js?id=GTM-TEST\"></script>"
+                        + "<script src=\"/app.js\"></script>"
+                        + "</head><body>"
+                        + "<img src=\"https://stats.g.doubleclick.net/r/collect?v=1\">"
+                        + "<img src=\"/logo.png\">"
+                        + "<script>Promise.allSettled(["
+                        + "fetch('/collect?ref=hotjar.com'), fetch('/api/products')"
+                        + "]).then(function () { window.__fetchesDone = true; });</script>"
+                        + "</body></html>";
+                break;
+            case "/app.js":
+                type = "application/javascript";
+                body = "window.__app = true;";
+                break;
+            case "/api/products":
+                type = "application/json";
+                body = "[{\"id\":1}]";
+                break;
+            default:
+                type = "image/gif";
+                body = "GIF89a";
+                break;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", type);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.ecommerce.drivers;
+
+import com.ecommerce.browser.BrowserProfile;
+import com.ecommerce.pages.LoginPage;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.JavascriptExecutor;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SessionSnapshotCache.login against a local login page, in headless Chrome sessions from
+ * DriverManager: the first login goes through the UI and is captured, a new session gets the
+ * snapshot before its first navigation, and a snapshot the server no longer accepts is discarded
+ * and re-captured. Skipped when no local Chrome can be started.
+ */
+public class SessionSnapshotCacheTest {
+    private static final String USER = "snapshot_user";
+    private static final String PASSWORD = "snapshot_pass";
+    private static final long LOGIN_TIMEOUT_MS = 5000;
+
+    private final Set<String> validTokens = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger uiLogins = new AtomicInteger();
+    private final AtomicInteger anonymousVisits = new AtomicInteger();
+    private HttpServer server;
+    private String url;
+
+    @BeforeClass
+    public void startLoginPage() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        SessionSnapshotCache.invalidate(USER);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopLoginPage() {
+        SessionSnapshotCache.invalidate(USER);
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @BeforeMethod
+    public void startSession() {
+        try {
+            DriverManager.initDriver("chrome", BrowserProfile.HEADLESS);
+        } catch (Exception e) {
+            throw new SkipException("Chrome not available: " + e.getMessage());
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void quitSession() {
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    public void firstLoginGoesThroughUiAndIsCaptured() {
+        Assert.assertFalse(login(), "no snapshot exists yet");
+        Assert.assertEquals(uiLogins.get(), 1);
+        Assert.assertEquals(localStorage("cart"), "2");
+    }
+
+    @Test(dependsOnMethods = "firstLoginGoesThroughUiAndIsCaptured")
+    public void newSessionIsRestoredBeforeFirstNavigation() {
+        int anonymousBefore = anonymousVisits.get();
+
+        Assert.assertTrue(login(), "snapshot should be reused");
+
+        Assert.assertEquals(uiLogins.get(), 1, "no second UI login");
+        Assert.assertEquals(anonymousVisits.get(), anonymousBefore,
+                "the first request of the new session must already carry the snapshot cookie");
+        Assert.assertEquals(localStorage("cart"), "2");
+    }
+
+    @Test(dependsOnMethods = "newSessionIsRestoredBeforeFirstNavigation")
+    public void staleSnapshotIsDiscardedAndRecaptured() {
+        validTokens.clear();
+
+        Assert.assertFalse(login(), "stale snapshot must not count as reused");
+        Assert.assertEquals(uiLogins.get(), 2);
+        Assert.assertTrue(isAppShown());
+
+        DriverManager.quitDriver();
+        DriverManager.initDriver("chrome", BrowserProfile.HEADLESS);
+        Assert.assertTrue(login(), "the re-captured snapshot should be reused");
+        Assert.assertEquals(uiLogins.get(), 2);
+    }
+
+    private boolean login() {
+        return SessionSnapshotCache.login(USER, url,
+                () -> new LoginPage().isLoginFormDisplayed(),
+                () -> {
+                    new LoginPage().login(USER, PASSWORD);
+                    waitForApp();
+                });
+    }
+
+    private void waitForApp() {
+        long deadline = System.currentTimeMillis() + LOGIN_TIMEOUT_MS;
+        while (!isAppShown()) {
+            if (System.currentTimeMillis() > deadline) {
+                Assert.fail("app page not shown within " + LOGIN_TIMEOUT_MS + "ms after UI login");
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Assert.fail("interrupted while waiting for the app page");
+            }
+        }
+    }
+
+    private boolean isAppShown() {
+        return Boolean.TRUE.equals(js().executeScript("return !!document.getElementById('inventory');"));
+    }
+
+    private Object localStorage(String key) {
+        return js().executeScript("return window.localStorage.getItem(arguments[0]);", key);
+    }
+
+    private static JavascriptExecutor js() {
+        return (JavascriptExecutor) DriverManager.getDriver();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if ("/favicon.ico".equals(path)) {
+            respond(exchange, 404, "text/plain", "");
+            return;
+        }
+        if ("/login".equals(path) && "POST".equals(exchange.getRequestMethod())) {
+            String form;
+            try (InputStream in = exchange.getRequestBody()) {
+                form = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            if (!form.contains("u=" + USER) || !form.contains("p=" + PASSWORD)) {
+                respond(exchange, 401, "text/plain", "bad credentials");
+                return;
+            }
+            uiLogins.incrementAndGet();
+            String token = UUID.randomUUID().toString();
+            validTokens.add(token);
+            exchange.getResponseHeaders().add("Set-Cookie", "sid=" + token + "; Path=/; HttpOnly");
+            exchange.getResponseHeaders().add("Location", "/?welcome=1");
+            respond(exchange, 302, "text/plain", "");
+            return;
+        }
+        if (isAuthenticated(exchange)) {
+            // storage is written once after login, so later sessions only have it if it was restored
+            String seed = "welcome=1".equals(exchange.getRequestURI().getQuery())
+                    ? "<script>window.localStorage.setItem('cart', '2');</script>" : "";
+            respond(exchange, 200, "text/html",
+                    "<html><body><div id=\"inventory\">Products</div>" + seed + "</body></html>");
+            return;
+        }
+        anonymousVisits.incrementAndGet();
+        respond(exchange, 200, "text/html", "<html><body>"
+                + "<form action=\"/login\" method=\"post\">"
+                + "<input id=\"user-name\" name=\"u\">"
+                + "<input id=\"password\" name=\"p\" type=\"password\">"
+                + "<input id=\"login-button\" type=\"submit\" value=\"Login\">"
+                + "</form></body></html>");
+    }
+
+    private boolean isAuthenticated(HttpExchange exchange) {
+        List<String> headers = exchange.getRequestHeaders().get("Cookie");
+        if (headers == null) {
+            return false;
+        }
+        for (String header : headers) {
+            for (String cookie : header.split(";")) {
+                String c = cookie.trim();
+                if (c.startsWith("sid=") && validTokens.contains(c.substring(4))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String type, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", type);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.constants.TimeConstants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LogUtils under 8 logging threads: the original static synchronized path against the current
+ * lock-free one, for an enabled level (INFO) and a disabled one (DEBUG).
+ * <p>
+ * The baseline is the original LogUtils verbatim: every level formats its entry unconditionally
+ * inside the class lock and hands it to attachLogEntry. The fork runs without the AspectJ agent,
+ * so attachLogEntry's Allure @Attachment write is not woven in; the baseline numbers are a lower
+ * bound for the original cost.
+ * <p>
+ * Run from the project root (config/ is read relative to it):
+ * mvn test-compile, then
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.ecommerce.utils.LogUtilsBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+@Threads(8)
+@State(Scope.Benchmark)
+public class LogUtilsBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger(LogUtils.class);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern(TimeConstants.TIMESTAMP_PATTERN);
+
+    private final String user = "standard_user";
+    private final int items = 3;
+
+    // -------- original implementation (every call takes the class lock and formats) --------
+
+    private static synchronized void synchronizedInfo(String message, Blackhole sink) {
+        String entry = synchronizedFormat("INFO", message);
+        LOGGER.info(message);
+        sink.consume(attachLogEntry(entry));
+    }
+
+    private static synchronized void synchronizedDebug(String message, Blackhole sink) {
+        String entry = synchronizedFormat("DEBUG", message);
+        LOGGER.debug(message);
+        sink.consume(attachLogEntry(entry));
+    }
+
+    /** The original @Attachment hook, unwoven. */
+    private static String attachLogEntry(String entry) {
+        return entry;
+    }
+
+    private static String synchronizedFormat(String level, String message) {
+        String time = LocalDateTime.now().format(TIMESTAMP_FORMAT);
+        String thread = Thread.currentThread().getName();
+        return String.format("%s [%s] %s - %s", time, thread, level, message);
+    }
+
+    // -------- enabled level --------
+
+    @Benchmark
+    public void infoSynchronized(Blackhole sink) {
+        synchronizedInfo("Added " + items + " items to cart for " + user, sink);
+    }
+
+    @Benchmark
+    public void infoLockFree() {
+        LogUtils.info("Added " + items + " items to cart for " + user);
+    }
+
+    @Benchmark
+    public void infoLockFreeParameterized() {
+        LogUtils.info("Added {} items to cart for {}", items, user);
+    }
+
+    // -------- disabled level --------
+
+    @Benchmark
+    public void debugDisabledSynchronized(Blackhole sink) {
+        synchronizedDebug("Added " + items + " items to cart for " + user, sink);
+    }
+
+    @Benchmark
+    public void debugDisabledLockFree() {
+        LogUtils.debug("Added " + items + " items to cart for " + user);
+    }
+
+    @Benchmark
+    public void debugDisabledLockFreeParameterized() {
+        LogUtils.debug("Added {} items to cart for {}", items, user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LogUtilsBenchmark.class.getSimpleName()).build()).run();
+    }
+}